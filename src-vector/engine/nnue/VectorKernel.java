@@ -0,0 +1,61 @@
+package engine.nnue;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Raiz separada para o build padrão não depender do módulo incubado. Compilar sobre as classes de src:
+// javac --add-modules jdk.incubator.vector -cp bin -d bin src-vector/engine/nnue/VectorKernel.java
+// Só é carregada quando o módulo está presente em tempo de execução (--add-modules jdk.incubator.vector)
+final class VectorKernel implements Kernel {
+
+	private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+	// Mesmo tamanho de registrador: cada vetor de shorts se expande em dois de ints
+	private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, SHORTS.vectorShape());
+
+	@Override
+	public void add(short[] acc, short[] weights, int offset) {
+		int i = 0;
+		for (int bound = SHORTS.loopBound(acc.length); i < bound; i += SHORTS.length()) {
+			ShortVector.fromArray(SHORTS, acc, i).add(ShortVector.fromArray(SHORTS, weights, offset + i))
+					.intoArray(acc, i);
+		}
+		for (; i < acc.length; i++) {
+			acc[i] += weights[offset + i];
+		}
+	}
+
+	@Override
+	public void sub(short[] acc, short[] weights, int offset) {
+		int i = 0;
+		for (int bound = SHORTS.loopBound(acc.length); i < bound; i += SHORTS.length()) {
+			ShortVector.fromArray(SHORTS, acc, i).sub(ShortVector.fromArray(SHORTS, weights, offset + i))
+					.intoArray(acc, i);
+		}
+		for (; i < acc.length; i++) {
+			acc[i] -= weights[offset + i];
+		}
+	}
+
+	@Override
+	public int dot(short[] acc, short[] weights, int offset, int clip) {
+		IntVector sum = IntVector.zero(INTS);
+		int i = 0;
+		for (int bound = SHORTS.loopBound(acc.length); i < bound; i += SHORTS.length()) {
+			ShortVector a = ShortVector.fromArray(SHORTS, acc, i).max((short) 0).min((short) clip);
+			ShortVector w = ShortVector.fromArray(SHORTS, weights, offset + i);
+			// O produto não cabe em int16: expande para int32 antes de multiplicar
+			for (int part = 0; part < 2; part++) {
+				IntVector ai = (IntVector) a.convertShape(VectorOperators.S2I, INTS, part);
+				IntVector wi = (IntVector) w.convertShape(VectorOperators.S2I, INTS, part);
+				sum = sum.add(ai.mul(wi));
+			}
+		}
+		int total = sum.reduceLanes(VectorOperators.ADD);
+		for (; i < acc.length; i++) {
+			total += Math.max(0, Math.min(acc[i], clip)) * weights[offset + i];
+		}
+		return total;
+	}
+}
@@ -5,19 +5,49 @@ import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
 
+import engine.ComputerPlayer;
+import engine.ParallelSearch;
+import engine.SearchResult;
+import engine.TranspositionTable;
 import xadrez.ChessException;
 import xadrez.ChessPosition;
+import xadrez.Cor;
 import xadrez.PartidaXadrez;
 import xadrez.PecaXadrez;
 
 public class Main {
+
+	// Relógio do computador quando jogado com --computer: 5 minutos mais 3 segundos por lance
+	private static final long COMPUTER_TIME_MILLIS = 5 * 60 * 1000;
+	private static final long COMPUTER_INCREMENT_MILLIS = 3000;
+
 	public static void main(String[] args) {
 		Scanner sc = new Scanner(System.in);
 		PartidaXadrez chessMatch = new PartidaXadrez();
 		List<PecaXadrez> captured = new ArrayList<>();
+
+		// Com --computer o computador joga de pretas e faz ponder enquanto espera o humano
+		ComputerPlayer computer = null;
+		long computerClock = COMPUTER_TIME_MILLIS;
+		for (String arg : args) {
+			if (arg.equals("--computer")) {
+				computer = new ComputerPlayer(new ParallelSearch(new TranspositionTable(64)));
+			}
+		}
 		
-		while(!chessMatch.getCheckMate()) {
+		while(!chessMatch.getCheckMate() && !chessMatch.getStalemate()) {
 			try {
+			if (computer != null && chessMatch.getCurrentPlayer() == Cor.PRETO) {
+				long start = System.currentTimeMillis();
+				SearchResult result = computer.think(chessMatch, computerClock, COMPUTER_INCREMENT_MILLIS);
+				PecaXadrez capturedPiece = ComputerPlayer.play(chessMatch, result.getBestMove());
+				if(capturedPiece != null) {
+					captured.add(capturedPiece);
+				}
+				computerClock += COMPUTER_INCREMENT_MILLIS - (System.currentTimeMillis() - start);
+				computer.startPondering(chessMatch, result);
+				continue;
+			}
 			UI.clearScreen();
 			UI.printMatch(chessMatch, captured);
 			System.out.println();
@@ -52,6 +82,9 @@ public class Main {
 				sc.nextLine();
 			}
 		}
+		if (computer != null) {
+			computer.shutdown();
+		}
 		UI.clearScreen();
 		UI.printMatch(chessMatch, captured);
 	}
@@ -1,5 +1,6 @@
 package app;
 
+import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.List;
@@ -44,7 +45,7 @@ public class UI {
 			String s = sc.nextLine();
 			char coluna = s.charAt(0);
 			int linha = Integer.parseInt(s.substring(1));
-			return new ChessPosition(coluna, linha);
+			return ChessPosition.of(coluna, linha);
 		} catch (RuntimeException e) {
 			throw new InputMismatchException("Erro ao ler ChessPosition. Valores validos são de a1 ao h8");
 		}
@@ -56,7 +57,9 @@ public class UI {
 		printCapturedPieces(captured);
 		System.out.println();
 		System.out.println("Turn : " + chessMatch.getTurn());
-		if (!chessMatch.getCheckMate()) {
+		if (chessMatch.getStalemate()) {
+			System.out.println("STALEMATE!!");
+		} else if (!chessMatch.getCheckMate()) {
 			System.out.println("Waiting player: " + chessMatch.getCurrentPlayer());
 			if (chessMatch.getCheck()) {
 				System.out.println("CHECK!!");
@@ -68,25 +71,30 @@ public class UI {
 	}
 
 	public static void printBoard(PecaXadrez[][] pecas) {
+		printBoard(pecas, System.out);
+	}
+
+	public static void printBoard(PecaXadrez[][] pecas, PrintStream out) {
 		for (int i = 0; i < pecas.length; i++) {
-			System.out.print((8 - i) + " ");
+			out.print((8 - i) + " ");
 			for (int j = 0; j < pecas.length; j++) {
-				printPiece(pecas[i][j], false);
+				printPiece(out, pecas[i][j], false);
 			}
-			System.out.println();
+			out.println();
 		}
-		System.out.println("  a b c d e f g h");
+		out.println("  a b c d e f g h");
 	}
 
 	public static void printBoard(PecaXadrez[][] pecas, boolean[][] possibleMoves) {
+		PrintStream out = System.out;
 		for (int i = 0; i < pecas.length; i++) {
-			System.out.print((8 - i) + " ");
+			out.print((8 - i) + " ");
 			for (int j = 0; j < pecas.length; j++) {
-				printPiece(pecas[i][j], possibleMoves[i][j]);
+				printPiece(out, pecas[i][j], possibleMoves[i][j]);
 			}
-			System.out.println();
+			out.println();
 		}
-		System.out.println("  a b c d e f g h");
+		out.println("  a b c d e f g h");
 	}
 
 	/*
@@ -95,20 +103,20 @@ public class UI {
 	 * System.out.println(" ");
 	 */
 
-	private static void printPiece(PecaXadrez piece, boolean background) {
+	private static void printPiece(PrintStream out, PecaXadrez piece, boolean background) {
 		if (background) {
-			System.out.println(ANSI_BLUE_BACKGROUND + piece + ANSI_RESET);
+			out.println(ANSI_BLUE_BACKGROUND + piece + ANSI_RESET);
 		}
 		if (piece == null) {
-			System.out.print("-" + ANSI_RESET);
+			out.print("-" + ANSI_RESET);
 		} else {
 			if (piece.getCor() == Cor.BRANCO) {
-				System.out.print(ANSI_WHITE + piece + ANSI_RESET);
+				out.print(ANSI_WHITE + piece + ANSI_RESET);
 			} else {
-				System.out.print(ANSI_YELLOW + piece + ANSI_RESET);
+				out.print(ANSI_YELLOW + piece + ANSI_RESET);
 			}
 		}
-		System.out.println(" ");
+		out.println(" ");
 	}
 
 	private static void printCapturedPieces(List<PecaXadrez> captured) {
@@ -0,0 +1,7 @@
+package bench;
+
+// Uma chamada percorre o corpus inteiro e devolve o número de operações executadas
+public interface Benchmark {
+
+	int run(Blackhole bh);
+}
@@ -0,0 +1,71 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+// Harness no estilo do JMH (modo tempo médio): iterações de aquecimento descartadas,
+// iterações de medição com tempo fixo, e bytes alocados por operação medidos pelo
+// contador de alocação da thread, o mesmo número que o "-prof gc" reporta como gc.alloc.rate.norm
+public class BenchmarkRunner {
+
+	private int warmupIterations;
+	private int measurementIterations;
+	private long iterationMillis;
+	private com.sun.management.ThreadMXBean threads;
+
+	public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+		this.warmupIterations = warmupIterations;
+		this.measurementIterations = measurementIterations;
+		this.iterationMillis = iterationMillis;
+		threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		threads.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	public static String header() {
+		return String.format(Locale.ROOT, "%-40s %5s %15s %9s %14s", "Benchmark", "Cnt", "Score", "Error",
+				"Alloc");
+	}
+
+	public String run(String name, Benchmark benchmark) {
+		Blackhole bh = new Blackhole();
+		for (int i = 0; i < warmupIterations; i++) {
+			iteration(benchmark, bh);
+		}
+		double[] scores = new double[measurementIterations];
+		double allocated = 0;
+		for (int i = 0; i < measurementIterations; i++) {
+			double[] r = iteration(benchmark, bh);
+			scores[i] = r[0];
+			allocated += r[1];
+		}
+		bh.publish();
+
+		double mean = 0;
+		for (double s : scores) {
+			mean += s;
+		}
+		mean /= scores.length;
+		double variance = 0;
+		for (double s : scores) {
+			variance += (s - mean) * (s - mean);
+		}
+		double error = scores.length > 1 ? Math.sqrt(variance / (scores.length - 1)) : 0;
+		return String.format(Locale.ROOT, "%-40s %5d %9.1f ns/op +- %6.1f %9.1f B/op", name, scores.length, mean, error,
+				allocated / scores.length);
+	}
+
+	// Devolve ns/op e bytes/op da iteração
+	private double[] iteration(Benchmark benchmark, Blackhole bh) {
+		long ops = 0;
+		long deadline = System.nanoTime() + iterationMillis * 1_000_000;
+		long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		long now;
+		do {
+			ops += benchmark.run(bh);
+			now = System.nanoTime();
+		} while (now < deadline);
+		long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+		return new double[] { (double) (now - start) / ops, (double) bytes / ops };
+	}
+}
@@ -0,0 +1,33 @@
+package bench;
+
+// Consome resultados para que o JIT não elimine o trabalho medido
+public final class Blackhole {
+
+	private long sink;
+	private volatile long published;
+	// Referências escapam por um campo em raras iterações, como no JMH; identityHashCode
+	// gravaria o hash no cabeçalho de cada objeto e entraria na medida
+	private Object escaped;
+	private int random = (int) System.nanoTime();
+	private int mask = 1;
+
+	public void consume(Object value) {
+		int r = random = random * 1664525 + 1013904223;
+		if ((r & mask) == 0) {
+			escaped = value;
+			mask = (mask << 1) + 1;
+		}
+	}
+
+	public void consume(long value) {
+		sink += value;
+	}
+
+	public void consume(boolean value) {
+		sink += value ? 1 : 0;
+	}
+
+	void publish() {
+		published = sink;
+	}
+}
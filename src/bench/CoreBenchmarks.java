@@ -0,0 +1,168 @@
+package bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import app.UI;
+import xadrez.ChessMove;
+import xadrez.ChessPosition;
+import xadrez.PartidaXadrez;
+import xadrez.PecaXadrez;
+import xadrez.TipoPeca;
+
+// Caminhos quentes da interface pública, sobre o corpus de meio-jogo e de final.
+// Uso: CoreBenchmarks [aquecimento] [medição] [ms por iteração] [benchmark], padrão 5 5 1000.
+// Sem nome, cada benchmark roda em uma JVM nova, como o fork do JMH: o perfil do JIT
+// de um benchmark não contamina os seguintes e o resultado não depende da ordem
+public class CoreBenchmarks {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int warmup = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		int measurement = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		long millis = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+		Map<String, Benchmark> benchmarks = benchmarks();
+
+		if (args.length > 3) {
+			Benchmark benchmark = benchmarks.get(args[3]);
+			if (benchmark == null) {
+				throw new IllegalArgumentException("Benchmark desconhecido: " + args[3]);
+			}
+			System.out.println(new BenchmarkRunner(warmup, measurement, millis).run(args[3], benchmark));
+			return;
+		}
+		System.out.println(BenchmarkRunner.header());
+		for (String name : benchmarks.keySet()) {
+			fork(name, warmup, measurement, millis);
+		}
+	}
+
+	private static Map<String, Benchmark> benchmarks() {
+		Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+		add(benchmarks, "middlegame", Corpus.middlegame());
+		add(benchmarks, "endgame", Corpus.endgame());
+		return benchmarks;
+	}
+
+	private static void add(Map<String, Benchmark> benchmarks, String corpus, List<PartidaXadrez> matches) {
+		for (TipoPeca tipo : TipoPeca.values()) {
+			List<PecaXadrez> pieces = piecesOf(matches, tipo);
+			if (!pieces.isEmpty()) {
+				benchmarks.put(corpus + ".possibleMoves." + tipo, possibleMoves(pieces));
+			}
+		}
+		benchmarks.put(corpus + ".performChessMove", performChessMove(matches, false));
+		benchmarks.put(corpus + ".performChessMove.check", performChessMove(matches, true));
+		benchmarks.put(corpus + ".getPecas", getPecas(matches));
+		benchmarks.put(corpus + ".printBoard", printBoard(matches));
+	}
+
+	// Mesma JVM, mesmas opções e classpath; a saída do filho vai direto para a do pai
+	private static void fork(String name, int warmup, int measurement, long millis)
+			throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(CoreBenchmarks.class.getName());
+		command.add(String.valueOf(warmup));
+		command.add(String.valueOf(measurement));
+		command.add(String.valueOf(millis));
+		command.add(name);
+		Process process = new ProcessBuilder(command).inheritIO().start();
+		if (process.waitFor() != 0) {
+			throw new IllegalStateException("Falha no benchmark " + name);
+		}
+	}
+
+	private static Benchmark possibleMoves(List<PecaXadrez> pieces) {
+		return bh -> {
+			for (PecaXadrez p : pieces) {
+				bh.consume(p.possibleMoves());
+			}
+			return pieces.size();
+		};
+	}
+
+	// Cada lance é jogado pela interface de coordenadas e desfeito em seguida.
+	// Com "checks", só os lances que dão cheque, que passam pelo teste de cheque-mate.
+	private static Benchmark performChessMove(List<PartidaXadrez> matches, boolean checks) {
+		List<int[]> movesPerMatch = new ArrayList<>();
+		int total = 0;
+		for (PartidaXadrez match : matches) {
+			int[] moves = new int[ChessMove.MAX_MOVES];
+			int count = match.legalMoves(moves);
+			int kept = 0;
+			for (int i = 0; i < count; i++) {
+				// Promoções repetem origem e destino; a interface de coordenadas joga a dama
+				if (ChessMove.isPromotion(moves[i]) && ChessMove.promotion(moves[i]) != TipoPeca.QUEEN) {
+					continue;
+				}
+				match.makeMove(moves[i]);
+				boolean check = match.getCheck();
+				match.unmakeMove();
+				if (!checks || check) {
+					moves[kept++] = moves[i];
+				}
+			}
+			int[] list = new int[kept];
+			System.arraycopy(moves, 0, list, 0, kept);
+			movesPerMatch.add(list);
+			total += kept;
+		}
+		int ops = total;
+		return bh -> {
+			for (int m = 0; m < matches.size(); m++) {
+				PartidaXadrez match = matches.get(m);
+				for (int move : movesPerMatch.get(m)) {
+					bh.consume(match.performChessMove(ChessPosition.fromSquare(ChessMove.from(move)),
+							ChessPosition.fromSquare(ChessMove.to(move))));
+					bh.consume(match.getCheckMate());
+					match.unmakeMove();
+				}
+			}
+			return ops;
+		};
+	}
+
+	private static Benchmark getPecas(List<PartidaXadrez> matches) {
+		return bh -> {
+			for (PartidaXadrez match : matches) {
+				bh.consume(match.getPecas());
+			}
+			return matches.size();
+		};
+	}
+
+	// A saída vai para um stream nulo: mede a formatação, não o terminal
+	private static Benchmark printBoard(List<PartidaXadrez> matches) {
+		PrintStream nullStream = new PrintStream(OutputStream.nullOutputStream());
+		return bh -> {
+			for (PartidaXadrez match : matches) {
+				UI.printBoard(match.getPecas(), nullStream);
+			}
+			return matches.size();
+		};
+	}
+
+	private static List<PecaXadrez> piecesOf(List<PartidaXadrez> matches, TipoPeca tipo) {
+		List<PecaXadrez> pieces = new ArrayList<>();
+		for (PartidaXadrez match : matches) {
+			for (PecaXadrez[] linha : match.getPecas()) {
+				for (PecaXadrez p : linha) {
+					if (p != null && p.getTipo() == tipo) {
+						pieces.add(p);
+					}
+				}
+			}
+		}
+		return pieces;
+	}
+}
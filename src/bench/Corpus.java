@@ -0,0 +1,46 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import xadrez.Fen;
+import xadrez.PartidaXadrez;
+
+// Posições fixas para que as medições sejam comparáveis entre versões
+public final class Corpus {
+
+	public static final String[] MIDDLEGAME = {
+		"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+		"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+		"r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4",
+		"r2q1rk1/pp2ppbp/2np1np1/8/3NP3/2N1BP2/PPPQ2PP/R3KB1R w KQ - 3 10",
+		"rnbq1rk1/ppp1bppp/4pn2/3p4/2PP4/2N2N2/PP2PPPP/R1BQKB1R w KQ - 2 6",
+	};
+
+	public static final String[] ENDGAME = {
+		"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+		"8/8/4k3/3p4/3P4/4K3/8/8 w - - 0 1",
+		"6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1",
+		"8/5pk1/6p1/8/3Q4/6P1/5PK1/7q w - - 0 1",
+		"8/P7/8/8/8/8/6k1/K7 w - - 0 1",
+	};
+
+	private Corpus() {
+	}
+
+	public static List<PartidaXadrez> middlegame() {
+		return load(MIDDLEGAME);
+	}
+
+	public static List<PartidaXadrez> endgame() {
+		return load(ENDGAME);
+	}
+
+	private static List<PartidaXadrez> load(String[] fens) {
+		List<PartidaXadrez> matches = new ArrayList<>();
+		for (String fen : fens) {
+			matches.add(PartidaXadrez.fromSnapshot(Fen.parse(fen)));
+		}
+		return matches;
+	}
+}
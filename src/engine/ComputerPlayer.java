@@ -0,0 +1,100 @@
+package engine;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import xadrez.ChessMove;
+import xadrez.Mailbox;
+import xadrez.PartidaXadrez;
+import xadrez.PecaXadrez;
+
+// Joga por uma PartidaXadrez com relógio e, enquanto o adversário pensa,
+// faz ponder sobre a resposta esperada (o segundo lance da variante principal)
+public class ComputerPlayer {
+
+	private ParallelSearch search;
+	private Future<SearchResult> ponderTask;
+	private long ponderKey;
+
+	public ComputerPlayer(ParallelSearch search) {
+		this.search = search;
+	}
+
+	// Se o adversário jogou o lance esperado, o ponder vira a busca do lance, sem recomeçar
+	public SearchResult think(PartidaXadrez match, long remainingMillis, long incrementMillis) {
+		SearchLimits limits = TimeManager.limits(remainingMillis, incrementMillis);
+		Future<SearchResult> task = ponderTask;
+		ponderTask = null;
+		if (task != null) {
+			if (ponderKey == match.getZobristKey()) {
+				search.ponderHit(limits);
+				return await(task);
+			}
+			search.stop();
+			await(task);
+		}
+		return search.search(match.copyPosition(), limits);
+	}
+
+	// Chamado depois que o lance de "last" foi jogado na partida
+	public boolean startPondering(PartidaXadrez match, SearchResult last) {
+		stopPondering();
+		int[] pv = last.getPv();
+		if (pv.length < 2 || match.getCheckMate() || match.getStalemate()) {
+			return false;
+		}
+		Mailbox position = match.copyPosition();
+		if (!isLegal(position, pv[1])) {
+			return false;
+		}
+		position.makeMove(pv[1]);
+		ponderKey = position.getKey();
+		ponderTask = search.ponder(position, SearchLimits.infinite());
+		return true;
+	}
+
+	public boolean isPondering() {
+		return ponderTask != null;
+	}
+
+	public void stopPondering() {
+		Future<SearchResult> task = ponderTask;
+		ponderTask = null;
+		if (task != null) {
+			search.stop();
+			await(task);
+		}
+	}
+
+	public void shutdown() {
+		stopPondering();
+		search.shutdown();
+	}
+
+	// Aplica o lance na partida, já com a peça de promoção escolhida pela busca
+	public static PecaXadrez play(PartidaXadrez match, int move) {
+		return match.makeMove(move);
+	}
+
+	private static boolean isLegal(Mailbox position, int move) {
+		int[] moves = new int[ChessMove.MAX_MOVES];
+		int count = position.generateLegalMoves(moves);
+		for (int i = 0; i < count; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static SearchResult await(Future<SearchResult> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando a busca", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Falha na busca", e.getCause());
+		}
+	}
+}
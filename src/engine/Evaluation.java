@@ -0,0 +1,29 @@
+package engine;
+
+import xadrez.Cor;
+import xadrez.Mailbox;
+import xadrez.PieceSquareTables;
+
+public final class Evaluation {
+
+	private Evaluation() {
+	}
+
+	// Interpola as somas de meio-jogo e final mantidas pelo Mailbox pela fase de jogo,
+	// do ponto de vista do jogador da vez
+	public static int evaluate(Mailbox position) {
+		return taper(position, position.getMgScore(), position.getEgScore());
+	}
+
+	public static int evaluate(Mailbox position, PawnEvaluator pawns) {
+		int structure = pawns.evaluate(position);
+		return taper(position, position.getMgScore() + PawnEvaluator.mg(structure),
+				position.getEgScore() + PawnEvaluator.eg(structure));
+	}
+
+	private static int taper(Mailbox position, int mg, int eg) {
+		int phase = position.getPhase();
+		int score = (mg * phase + eg * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+		return position.getSideToMove() == Cor.BRANCO ? score : -score;
+	}
+}
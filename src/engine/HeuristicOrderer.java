@@ -0,0 +1,91 @@
+package engine;
+
+import xadrez.ChessMove;
+import xadrez.Mailbox;
+import xadrez.TipoPeca;
+
+// Movimento da tabela primeiro, capturas por MVV-LVA, killers por ply e histórico from/to
+public class HeuristicOrderer implements MoveOrderer {
+
+	private static final int HASH_MOVE = 2_000_000;
+	private static final int CAPTURE = 1_000_000;
+	private static final int PROMOTION = 950_000;
+	private static final int KILLER_1 = 900_000;
+	private static final int KILLER_2 = 800_000;
+	private static final int HISTORY_MAX = 400_000;
+
+	// [vítima][atacante]: vítima mais valiosa primeiro, depois atacante mais barato
+	private static final int[][] MVV_LVA = new int[6][6];
+
+	static {
+		TipoPeca[] tipos = TipoPeca.values();
+		for (int victim = 0; victim < 6; victim++) {
+			for (int attacker = 0; attacker < 6; attacker++) {
+				MVV_LVA[victim][attacker] = tipos[victim].getValue() * 10 + (5 - attacker);
+			}
+		}
+	}
+
+	private int[][] killers = new int[Search.MAX_PLY][2];
+	// Tabela butterfly por cor: índice from * 64 + to
+	private int[][] history = new int[2][64 * 64];
+
+	@Override
+	public void newSearch() {
+		for (int[] k : killers) {
+			k[0] = 0;
+			k[1] = 0;
+		}
+		// Mantém a tendência da busca anterior com peso menor
+		for (int[] h : history) {
+			for (int i = 0; i < h.length; i++) {
+				h[i] >>= 2;
+			}
+		}
+	}
+
+	@Override
+	public void score(Mailbox position, int[] moves, int[] scores, int count, int hashMove, int ply) {
+		int[] colorHistory = history[position.getSideToMove().ordinal()];
+		int killer1 = killers[ply][0];
+		int killer2 = killers[ply][1];
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			if (move == hashMove) {
+				scores[i] = HASH_MOVE;
+			} else if (ChessMove.isCapture(move)) {
+				int victim = ChessMove.isEnPassant(move) ? TipoPeca.PAWN.ordinal()
+						: Mailbox.tipo(position.pieceAt(ChessMove.to(move))).ordinal();
+				int attacker = Mailbox.tipo(position.pieceAt(ChessMove.from(move))).ordinal();
+				scores[i] = CAPTURE + MVV_LVA[victim][attacker];
+			} else if (ChessMove.promotion(move) == TipoPeca.QUEEN) {
+				scores[i] = PROMOTION;
+			} else if (move == killer1) {
+				scores[i] = KILLER_1;
+			} else if (move == killer2) {
+				scores[i] = KILLER_2;
+			} else {
+				scores[i] = colorHistory[ChessMove.from(move) * 64 + ChessMove.to(move)];
+			}
+		}
+	}
+
+	@Override
+	public void cutoff(Mailbox position, int move, int ply, int depth) {
+		if (ChessMove.isCapture(move) || ChessMove.isPromotion(move)) {
+			return;
+		}
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		int[] colorHistory = history[position.getSideToMove().ordinal()];
+		int index = ChessMove.from(move) * 64 + ChessMove.to(move);
+		colorHistory[index] += depth * depth;
+		if (colorHistory[index] > HISTORY_MAX) {
+			for (int i = 0; i < colorHistory.length; i++) {
+				colorHistory[i] >>= 1;
+			}
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package engine;
+
+import xadrez.Mailbox;
+
+// Ordena os movimentos legais de uma posição; maior score é tentado primeiro
+public interface MoveOrderer {
+
+	void newSearch();
+
+	void score(Mailbox position, int[] moves, int[] scores, int count, int hashMove, int ply);
+
+	// Movimento que causou corte beta, chamado com a posição de antes do movimento
+	void cutoff(Mailbox position, int move, int ply, int depth);
+
+}
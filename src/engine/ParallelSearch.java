@@ -0,0 +1,128 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import engine.nnue.Network;
+import xadrez.Mailbox;
+
+// Lazy SMP: todas as threads buscam a mesma raiz, cada uma com sua cópia da posição,
+// e se ajudam apenas através da tabela de transposição compartilhada
+public class ParallelSearch {
+
+	private TranspositionTable tt;
+	private Search[] searches;
+	private ExecutorService pool;
+	private ExecutorService ponderThread;
+
+	public ParallelSearch(TranspositionTable tt) {
+		this(Runtime.getRuntime().availableProcessors(), tt);
+	}
+
+	public ParallelSearch(int threads, TranspositionTable tt) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("É necessário pelo menos 1 thread");
+		}
+		this.tt = tt;
+		searches = new Search[threads];
+		for (int i = 0; i < threads; i++) {
+			searches[i] = new Search(tt);
+		}
+		pool = Executors.newFixedThreadPool(Math.max(1, threads - 1), r -> {
+			Thread t = new Thread(r, "lazy-smp-helper");
+			t.setDaemon(true);
+			return t;
+		});
+		ponderThread = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "ponder");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	// Os pesos são compartilhados; cada thread mantém seus próprios acumuladores
+	public void setNetwork(Network network) {
+		for (Search s : searches) {
+			s.setNetwork(network);
+		}
+	}
+
+	public int getThreads() {
+		return searches.length;
+	}
+
+	public SearchResult search(Mailbox root, SearchLimits limits) {
+		prepare(limits, false);
+		return run(root, limits);
+	}
+
+	// Ponder em uma thread própria. Limites, relógio e modo são preparados antes de
+	// retornar e a thread não os sobrescreve, então um stop ou ponderHit chamado logo
+	// em seguida nunca se perde.
+	public Future<SearchResult> ponder(Mailbox root, SearchLimits limits) {
+		prepare(limits, true);
+		return ponderThread.submit(() -> run(root, limits));
+	}
+
+	// Só a thread principal controla o tempo; os auxiliares seguem até ela terminar
+	public void ponderHit(SearchLimits limits) {
+		searches[0].ponderHit(limits);
+	}
+
+	private void prepare(SearchLimits limits, boolean ponder) {
+		tt.newSearch();
+		for (Search s : searches) {
+			s.resetStop();
+		}
+		searches[0].prepare(limits, ponder);
+	}
+
+	private SearchResult run(Mailbox root, SearchLimits limits) {
+		// Auxiliares só param quando a thread principal termina
+		SearchLimits helperLimits = new SearchLimits(limits.getMaxDepth(), 0, 0);
+		List<Future<SearchResult>> helpers = new ArrayList<>();
+		for (int i = 1; i < searches.length; i++) {
+			Search helper = searches[i];
+			int offset = i & 1;
+			helpers.add(pool.submit(() -> helper.search(root, helperLimits, offset)));
+		}
+
+		SearchResult best = searches[0].run(root, 0);
+		long elapsed = best.getElapsedNanos();
+		long nodes = best.getNodes();
+		for (int i = 1; i < searches.length; i++) {
+			searches[i].stop();
+		}
+		for (Future<SearchResult> f : helpers) {
+			try {
+				SearchResult r = f.get();
+				nodes += r.getNodes();
+				// Um auxiliar que completou uma iteração mais profunda tem o resultado mais confiável
+				if (r.getDepth() > best.getDepth() && r.getBestMove() != 0) {
+					best = r;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Falha em thread auxiliar da busca", e.getCause());
+			}
+		}
+		return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), best.getPv(), nodes, elapsed);
+	}
+
+	public void stop() {
+		for (Search s : searches) {
+			s.stop();
+		}
+	}
+
+	public void shutdown() {
+		stop();
+		pool.shutdownNow();
+		ponderThread.shutdownNow();
+	}
+}
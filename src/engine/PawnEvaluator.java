@@ -0,0 +1,147 @@
+package engine;
+
+import xadrez.Bitboards;
+import xadrez.Cor;
+import xadrez.Mailbox;
+import xadrez.TabuleiroBitboard;
+import xadrez.TipoPeca;
+
+// Estrutura de peões (passados, isolados, dobrados e atrasados) em cache pela chave de peões;
+// o escudo do rei depende da casa do rei e é calculado a cada chamada.
+// Os scores são empacotados como (mg << 16) + eg, do ponto de vista das brancas.
+public class PawnEvaluator {
+
+	private static final int DOUBLED_MG = -10, DOUBLED_EG = -20;
+	private static final int ISOLATED_MG = -10, ISOLATED_EG = -15;
+	private static final int BACKWARD_MG = -8, BACKWARD_EG = -10;
+	private static final int SHIELD_MG = 12;
+	// Indexado pela linha relativa ao lado do peão (1 = casa inicial)
+	private static final int[] PASSED_MG = { 0, 5, 10, 15, 30, 50, 80, 0 };
+	private static final int[] PASSED_EG = { 0, 10, 20, 35, 60, 100, 150, 0 };
+
+	private static final long[] FILES = new long[8];
+	private static final long[] ADJACENT_FILES = new long[8];
+	// [cor][casa]: casas à frente nas colunas vizinhas e na própria
+	private static final long[][] PASSED_MASK = new long[2][64];
+	// [cor][casa]: casas nas colunas vizinhas na mesma linha ou atrás
+	private static final long[][] SUPPORT_MASK = new long[2][64];
+	// [cor][casa do rei]: duas linhas à frente do rei nas colunas vizinhas e na própria
+	private static final long[][] SHIELD_MASK = new long[2][64];
+
+	static {
+		for (int coluna = 0; coluna < 8; coluna++) {
+			for (int linha = 0; linha < 8; linha++) {
+				FILES[coluna] |= 1L << (linha * 8 + coluna);
+			}
+		}
+		for (int coluna = 0; coluna < 8; coluna++) {
+			ADJACENT_FILES[coluna] = (coluna > 0 ? FILES[coluna - 1] : 0L) | (coluna < 7 ? FILES[coluna + 1] : 0L);
+		}
+		int white = Cor.BRANCO.ordinal();
+		int black = Cor.PRETO.ordinal();
+		for (int sq = 0; sq < 64; sq++) {
+			int linha = Bitboards.linha(sq);
+			int coluna = Bitboards.coluna(sq);
+			long span = FILES[coluna] | ADJACENT_FILES[coluna];
+			for (int l = 0; l < 8; l++) {
+				long rank = 0xFFL << (l * 8);
+				// As brancas andam para linhas menores
+				if (l < linha) {
+					PASSED_MASK[white][sq] |= span & rank;
+				} else {
+					SUPPORT_MASK[white][sq] |= ADJACENT_FILES[coluna] & rank;
+				}
+				if (l > linha) {
+					PASSED_MASK[black][sq] |= span & rank;
+				} else {
+					SUPPORT_MASK[black][sq] |= ADJACENT_FILES[coluna] & rank;
+				}
+				if (l == linha - 1 || l == linha - 2) {
+					SHIELD_MASK[white][sq] |= span & rank;
+				}
+				if (l == linha + 1 || l == linha + 2) {
+					SHIELD_MASK[black][sq] |= span & rank;
+				}
+			}
+		}
+	}
+
+	private final PawnHashTable table;
+
+	public PawnEvaluator() {
+		this(new PawnHashTable(256));
+	}
+
+	public PawnEvaluator(PawnHashTable table) {
+		this.table = table;
+	}
+
+	public PawnHashTable getTable() {
+		return table;
+	}
+
+	public int evaluate(Mailbox position) {
+		long[] bitboards = position.getBitboards();
+		long whitePawns = bitboards[TabuleiroBitboard.index(Cor.BRANCO, TipoPeca.PAWN)];
+		long blackPawns = bitboards[TabuleiroBitboard.index(Cor.PRETO, TipoPeca.PAWN)];
+
+		long pawnKey = position.getPawnKey();
+		int index = table.probe(pawnKey);
+		int score;
+		if (index >= 0) {
+			score = table.score(index);
+		} else {
+			score = structure(Cor.BRANCO, whitePawns, blackPawns) - structure(Cor.PRETO, blackPawns, whitePawns);
+			table.store(pawnKey, score);
+		}
+
+		int shield = Long.bitCount(SHIELD_MASK[Cor.BRANCO.ordinal()][position.kingSquare(Cor.BRANCO)] & whitePawns)
+				- Long.bitCount(SHIELD_MASK[Cor.PRETO.ordinal()][position.kingSquare(Cor.PRETO)] & blackPawns);
+		return score + pack(SHIELD_MG * shield, 0);
+	}
+
+	private static int structure(Cor cor, long own, long enemy) {
+		int mg = 0;
+		int eg = 0;
+		int c = cor.ordinal();
+		int forward = (cor == Cor.BRANCO) ? -8 : 8;
+		for (long pawns = own; pawns != 0; pawns &= pawns - 1) {
+			int sq = Long.numberOfTrailingZeros(pawns);
+			int coluna = Bitboards.coluna(sq);
+			int relativeRank = (cor == Cor.BRANCO) ? 7 - Bitboards.linha(sq) : Bitboards.linha(sq);
+
+			if ((PASSED_MASK[c][sq] & enemy) == 0 && (PASSED_MASK[c][sq] & FILES[coluna] & own) == 0) {
+				mg += PASSED_MG[relativeRank];
+				eg += PASSED_EG[relativeRank];
+			}
+			if ((ADJACENT_FILES[coluna] & own) == 0) {
+				mg += ISOLATED_MG;
+				eg += ISOLATED_EG;
+			} else if ((SUPPORT_MASK[c][sq] & own) == 0
+					&& (Bitboards.pawnAttacks(cor, sq + forward) & enemy) != 0) {
+				mg += BACKWARD_MG;
+				eg += BACKWARD_EG;
+			}
+		}
+		for (int coluna = 0; coluna < 8; coluna++) {
+			int count = Long.bitCount(own & FILES[coluna]);
+			if (count > 1) {
+				mg += DOUBLED_MG * (count - 1);
+				eg += DOUBLED_EG * (count - 1);
+			}
+		}
+		return pack(mg, eg);
+	}
+
+	public static int pack(int mg, int eg) {
+		return (mg << 16) + eg;
+	}
+
+	public static int mg(int score) {
+		return (score + 0x8000) >> 16;
+	}
+
+	public static int eg(int score) {
+		return (short) score;
+	}
+}
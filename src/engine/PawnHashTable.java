@@ -0,0 +1,66 @@
+package engine;
+
+import java.util.Arrays;
+
+// Cache de mapeamento direto da chave de peões para os termos de estrutura.
+// Não é compartilhado entre threads: cada Search tem o seu.
+public class PawnHashTable {
+
+	private final long[] keys;
+	private final int[] scores;
+	private final int mask;
+	private long probes;
+	private long hits;
+
+	public PawnHashTable(int sizeKb) {
+		if (sizeKb < 1) {
+			throw new IllegalArgumentException("Tamanho mínimo da tabela é 1 KB");
+		}
+		// Cada entrada ocupa 12 bytes: chave e score empacotado
+		int entries = Integer.highestOneBit(Math.max(1, (int) Math.min(1L << 30, sizeKb * 1024L / 12)));
+		keys = new long[entries];
+		scores = new int[entries];
+		mask = entries - 1;
+		// A chave 0 (sem peões) tem termos nulos, então as entradas vazias já estão corretas
+	}
+
+	// Devolve o índice da entrada ou -1 quando a estrutura não está no cache
+	public int probe(long pawnKey) {
+		probes++;
+		int index = (int) pawnKey & mask;
+		if (keys[index] == pawnKey) {
+			hits++;
+			return index;
+		}
+		return -1;
+	}
+
+	public int score(int index) {
+		return scores[index];
+	}
+
+	public void store(long pawnKey, int score) {
+		int index = (int) pawnKey & mask;
+		keys[index] = pawnKey;
+		scores[index] = score;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0L);
+		Arrays.fill(scores, 0);
+		probes = 0;
+		hits = 0;
+	}
+
+	public long getProbes() {
+		return probes;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public double getHitRate() {
+		return probes == 0 ? 0.0 : (double) hits / probes;
+	}
+}
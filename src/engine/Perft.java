@@ -0,0 +1,203 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import xadrez.ChessMove;
+import xadrez.Fen;
+import xadrez.Mailbox;
+import xadrez.PartidaXadrez;
+import xadrez.Position;
+
+// Contagem de folhas da árvore de lances legais. Cada lance da raiz vira uma tarefa
+// do ForkJoinPool com sua própria cópia da posição.
+public class Perft {
+
+	// Posições de referência e contagens conhecidas por profundidade (índice 0 = profundidade 1)
+	public static final String[] REFERENCE_FENS = {
+		Fen.START,
+		"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+		"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+		"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+		"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+		"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+	};
+
+	public static final long[][] REFERENCE_COUNTS = {
+		{ 20, 400, 8902, 197281, 4865609, 119060324 },
+		{ 48, 2039, 97862, 4085603, 193690690 },
+		{ 14, 191, 2812, 43238, 674624, 11030083 },
+		{ 6, 264, 9467, 422333, 15833292 },
+		{ 44, 1486, 62379, 2103487, 89941194 },
+		{ 46, 2079, 89890, 3894594, 164075551 },
+	};
+
+	private ForkJoinPool pool;
+
+	public Perft() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public Perft(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	public long perft(Position root, int depth) {
+		return divide(root, depth).getNodes();
+	}
+
+	public long perft(PartidaXadrez match, int depth) {
+		return perft(match.snapshot(), depth);
+	}
+
+	public PerftResult divide(PartidaXadrez match, int depth) {
+		return divide(match.snapshot(), depth);
+	}
+
+	// Caminho rápido: makeMove/unmakeMove do Mailbox
+	public PerftResult divide(Position root, int depth) {
+		return run(root, depth, false);
+	}
+
+	// Mesmo teste pela API completa da partida (PartidaXadrez.makeMove/unmakeMove),
+	// que também mantém o grafo de peças; mais lento, serve de validação
+	public PerftResult divideGame(Position root, int depth) {
+		return run(root, depth, true);
+	}
+
+	private PerftResult run(Position root, int depth, boolean game) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("Profundidade mínima é 1");
+		}
+		long start = System.nanoTime();
+		Mailbox position = root.toMailbox();
+		int[] moves = new int[ChessMove.MAX_MOVES];
+		int count = root.getCheckMate() || root.getStalemate() ? 0 : position.generateLegalMoves(moves);
+
+		List<ForkJoinTask<Long>> tasks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			tasks.add(pool.submit(game ? new GameTask(root, moves[i], depth - 1) : new MailboxTask(root, moves[i], depth - 1)));
+		}
+		long[] counts = new long[count];
+		for (int i = 0; i < count; i++) {
+			counts[i] = tasks.get(i).join();
+		}
+		int[] rootMoves = new int[count];
+		System.arraycopy(moves, 0, rootMoves, 0, count);
+		return new PerftResult(depth, rootMoves, counts, System.nanoTime() - start);
+	}
+
+	private static class MailboxTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Position root;
+		private final int move;
+		private final int depth;
+		private Mailbox position;
+		private int[][] moves;
+
+		MailboxTask(Position root, int move, int depth) {
+			this.root = root;
+			this.move = move;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Long compute() {
+			position = root.toMailbox();
+			position.makeMove(move);
+			moves = new int[depth + 1][ChessMove.MAX_MOVES];
+			return count(depth);
+		}
+
+		// No último nível basta contar os lances legais, sem executá-los
+		private long count(int depth) {
+			if (depth == 0) {
+				return 1;
+			}
+			int[] list = moves[depth];
+			int n = position.generateLegalMoves(list);
+			if (depth == 1) {
+				return n;
+			}
+			long nodes = 0;
+			for (int i = 0; i < n; i++) {
+				position.makeMove(list[i]);
+				nodes += count(depth - 1);
+				position.unmakeMove();
+			}
+			return nodes;
+		}
+	}
+
+	private static class GameTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Position root;
+		private final int move;
+		private final int depth;
+		private PartidaXadrez match;
+		private int[][] moves;
+
+		GameTask(Position root, int move, int depth) {
+			this.root = root;
+			this.move = move;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Long compute() {
+			match = PartidaXadrez.fromSnapshot(root);
+			match.makeMove(move);
+			moves = new int[depth + 1][ChessMove.MAX_MOVES];
+			return count(depth);
+		}
+
+		private long count(int depth) {
+			if (depth == 0) {
+				return 1;
+			}
+			if (match.getCheckMate() || match.getStalemate()) {
+				return 0;
+			}
+			int[] list = moves[depth];
+			int n = match.legalMoves(list);
+			long nodes = 0;
+			for (int i = 0; i < n; i++) {
+				match.makeMove(list[i]);
+				nodes += count(depth - 1);
+				match.unmakeMove();
+			}
+			return nodes;
+		}
+	}
+
+	// Roda as posições de referência até a profundidade informada (padrão 4)
+	public static void main(String[] args) {
+		int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		boolean game = args.length > 1 && args[1].equals("game");
+		Perft perft = new Perft();
+		boolean ok = true;
+		for (int i = 0; i < REFERENCE_FENS.length; i++) {
+			Position root = Fen.parse(REFERENCE_FENS[i]);
+			System.out.println(REFERENCE_FENS[i]);
+			for (int depth = 1; depth <= Math.min(maxDepth, REFERENCE_COUNTS[i].length); depth++) {
+				PerftResult r = game ? perft.divideGame(root, depth) : perft.divide(root, depth);
+				long expected = REFERENCE_COUNTS[i][depth - 1];
+				boolean match = r.getNodes() == expected;
+				ok &= match;
+				System.out.println("  depth " + depth + " nodes " + r.getNodes() + (match ? " ok" : " FALHOU, esperado " + expected)
+						+ " nps " + r.getNodesPerSecond());
+			}
+		}
+		System.out.println(ok ? "Todas as contagens conferem" : "Há contagens divergentes");
+		if (!ok) {
+			System.exit(1);
+		}
+	}
+}
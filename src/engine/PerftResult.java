@@ -0,0 +1,58 @@
+package engine;
+
+import xadrez.ChessMove;
+
+public class PerftResult {
+
+	private int depth;
+	private int[] moves;
+	private long[] counts;
+	private long nodes;
+	private long elapsedNanos;
+
+	public PerftResult(int depth, int[] moves, long[] counts, long elapsedNanos) {
+		this.depth = depth;
+		this.moves = moves;
+		this.counts = counts;
+		this.elapsedNanos = elapsedNanos;
+		for (long c : counts) {
+			nodes += c;
+		}
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public int[] getMoves() {
+		return moves.clone();
+	}
+
+	public long[] getCounts() {
+		return counts.clone();
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public long getNodesPerSecond() {
+		return elapsedNanos > 0 ? nodes * 1_000_000_000L / elapsedNanos : 0;
+	}
+
+	// Uma linha por lance da raiz, no formato usado para comparar com outros programas
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < moves.length; i++) {
+			sb.append(ChessMove.toString(moves[i])).append(": ").append(counts[i]).append('\n');
+		}
+		sb.append("depth ").append(depth).append(" nodes ").append(nodes).append(" time ")
+				.append(elapsedNanos / 1_000_000).append(" ms nps ").append(getNodesPerSecond());
+		return sb.toString();
+	}
+}
@@ -0,0 +1,44 @@
+package engine;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import xadrez.Fen;
+import xadrez.Mailbox;
+
+// Confere que um ponderHit logo depois do ponder não se perde: a busca tem que
+// respeitar os limites do ponderHit e terminar dentro do prazo
+public class PonderCheck {
+
+	private static final long HIT_TIME_MILLIS = 300;
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	public static void main(String[] args) throws Exception {
+		int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		ParallelSearch search = new ParallelSearch(2, new TranspositionTable(16));
+		boolean ok = true;
+		try {
+			for (int i = 0; i < rounds; i++) {
+				Mailbox root = Fen.parse(Fen.START).toMailbox();
+				Future<SearchResult> task = search.ponder(root, SearchLimits.infinite());
+				search.ponderHit(new SearchLimits(0, 0, HIT_TIME_MILLIS, HIT_TIME_MILLIS / 3));
+				try {
+					SearchResult r = task.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+					System.out.println("rodada " + i + " ok, profundidade " + r.getDepth()
+							+ " em " + r.getElapsedNanos() / 1_000_000 + " ms");
+				} catch (TimeoutException e) {
+					ok = false;
+					search.stop();
+					System.out.println("rodada " + i + " FALHOU, a busca ignorou o ponderHit");
+				}
+			}
+		} finally {
+			search.shutdown();
+		}
+		System.out.println(ok ? "ponderHit imediato respeitado" : "ponderHit imediato perdido");
+		if (!ok) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,412 @@
+package engine;
+
+import java.util.Arrays;
+
+import engine.nnue.Accumulator;
+import engine.nnue.Network;
+import xadrez.ChessMove;
+import xadrez.Mailbox;
+
+public class Search {
+
+	public static final int INFINITE = 32000;
+	public static final int MATE = 31000;
+	public static final int MAX_PLY = 128;
+
+	private static final int ASPIRATION_WINDOW = 50;
+	// Iterações seguidas com o mesmo melhor movimento para considerá-lo estável
+	private static final int STABLE_ITERATIONS = 4;
+
+	private TranspositionTable tt;
+	private MoveOrderer orderer;
+	private PawnEvaluator pawns = new PawnEvaluator();
+	// Rede opcional; sem ela a avaliação clássica é usada
+	private Network network;
+	private Accumulator accumulator;
+	private Mailbox position;
+	private volatile SearchLimits limits;
+
+	private int[][] moves = new int[MAX_PLY][ChessMove.MAX_MOVES];
+	private int[][] moveScores = new int[MAX_PLY][ChessMove.MAX_MOVES];
+	private int[][] pvTable = new int[MAX_PLY][MAX_PLY];
+	private int[] pvLength = new int[MAX_PLY];
+
+	private long nodes;
+	private long startTime;
+	// Início da contagem dos limites de tempo; no ponder é reiniciado pelo ponderHit
+	private volatile long clockStart;
+	private volatile boolean pondering;
+	private volatile boolean stopped;
+
+	public Search(TranspositionTable tt) {
+		this(tt, new HeuristicOrderer());
+	}
+
+	public Search(TranspositionTable tt, MoveOrderer orderer) {
+		this.tt = tt;
+		this.orderer = orderer;
+	}
+
+	public void setNetwork(Network network) {
+		this.network = network;
+		accumulator = network == null ? null : new Accumulator(network);
+	}
+
+	public void stop() {
+		stopped = true;
+	}
+
+	// Busca sobre uma cópia da posição; a posição recebida não é alterada
+	public SearchResult search(Mailbox root, SearchLimits limits) {
+		tt.newSearch();
+		stopped = false;
+		prepare(limits, false);
+		return run(root, 0);
+	}
+
+	// Busca sem limite de tempo até ponderHit ou stop; depois do ponderHit
+	// os limites passam a contar a partir daquele instante
+	public SearchResult ponder(Mailbox root, SearchLimits limits) {
+		tt.newSearch();
+		stopped = false;
+		prepare(limits, true);
+		return run(root, 0);
+	}
+
+	// Converte o ponder em busca normal, sem reiniciar a árvore
+	public void ponderHit(SearchLimits limits) {
+		this.limits = limits;
+		clockStart = System.nanoTime();
+		pondering = false;
+	}
+
+	public boolean isPondering() {
+		return pondering;
+	}
+
+	// Fixa limites, relógio e modo antes da busca começar; run não os sobrescreve,
+	// então um ponderHit que chegue antes da thread de busca arrancar é mantido
+	void prepare(SearchLimits limits, boolean pondering) {
+		this.limits = limits;
+		clockStart = System.nanoTime();
+		this.pondering = pondering;
+	}
+
+	void resetStop() {
+		stopped = false;
+	}
+
+	// Threads auxiliares do Lazy SMP buscam "depthOffset" plies além da iteração atual
+	SearchResult search(Mailbox root, SearchLimits limits, int depthOffset) {
+		prepare(limits, false);
+		return run(root, depthOffset);
+	}
+
+	// Busca com os limites fixados por prepare; a profundidade máxima é relida a cada
+	// iteração porque o ponderHit pode trocar os limites no meio da busca
+	SearchResult run(Mailbox root, int depthOffset) {
+		this.position = new Mailbox(root);
+		if (accumulator != null) {
+			accumulator.attach(position);
+		}
+		nodes = 0;
+		startTime = System.nanoTime();
+		orderer.newSearch();
+
+		SearchResult result = null;
+		int score = 0;
+		int stableIterations = 0;
+
+		for (int depth = 1; depth <= maxDepth(); depth++) {
+			int delta = ASPIRATION_WINDOW;
+			int alpha = -INFINITE;
+			int beta = INFINITE;
+			if (depth >= 4) {
+				alpha = Math.max(score - delta, -INFINITE);
+				beta = Math.min(score + delta, INFINITE);
+			}
+
+			// Janela de aspiração: alarga o lado que falhou até o score caber
+			while (true) {
+				int s = pvs(Math.min(depth + depthOffset, MAX_PLY - 1), alpha, beta, 0, true);
+				if (stopped) {
+					break;
+				}
+				if (s <= alpha) {
+					alpha = Math.max(s - delta, -INFINITE);
+				} else if (s >= beta) {
+					beta = Math.min(s + delta, INFINITE);
+				} else {
+					score = s;
+					break;
+				}
+				delta *= 2;
+			}
+			if (stopped && result != null) {
+				break;
+			}
+			if (pvLength[0] > 0) {
+				if (result != null && result.getBestMove() == pvTable[0][0]) {
+					stableIterations++;
+				} else {
+					stableIterations = 0;
+				}
+				result = new SearchResult(pvTable[0][0], score, Math.min(depth + depthOffset, MAX_PLY - 1),
+						Arrays.copyOf(pvTable[0], pvLength[0]), nodes,
+						System.nanoTime() - startTime);
+			}
+			if (stopped || pvLength[0] == 0 || Math.abs(score) >= MATE - depth) {
+				break;
+			}
+			if (softLimitReached(stableIterations)) {
+				break;
+			}
+		}
+
+		if (result == null) {
+			// Sem movimentos legais ou busca interrompida antes da primeira iteração
+			int count = position.generateLegalMoves(moves[0]);
+			int best = count > 0 ? moves[0][0] : 0;
+			int s = count > 0 ? 0 : (position.isInCheck() ? -MATE : 0);
+			result = new SearchResult(best, s, 0, count > 0 ? new int[] { best } : new int[0], nodes,
+					System.nanoTime() - startTime);
+		}
+		return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), result.getPv(), nodes,
+				System.nanoTime() - startTime);
+	}
+
+	private int pvs(int depth, int alpha, int beta, int ply, boolean pvNode) {
+		pvLength[ply] = ply;
+		if (depth <= 0) {
+			return quiescence(alpha, beta, ply);
+		}
+		nodes++;
+		if ((nodes & 1023) == 0) {
+			checkLimits();
+		}
+		if (stopped) {
+			return 0;
+		}
+		// Repetição (com a partida ou dentro da árvore) e regra dos 50 lances valem empate
+		if (ply > 0 && (position.isRepetition() || position.getHalfmoveClock() >= 100)) {
+			return 0;
+		}
+		if (ply >= MAX_PLY - 1) {
+			return evaluate();
+		}
+
+		long key = position.getKey();
+		long data = tt.probe(key);
+		int ttMove = 0;
+		if (data != 0L) {
+			ttMove = TranspositionTable.move(data);
+			if (!pvNode && TranspositionTable.depth(data) >= depth) {
+				int s = fromTT(TranspositionTable.score(data), ply);
+				int bound = TranspositionTable.bound(data);
+				if (bound == TranspositionTable.EXACT
+						|| (bound == TranspositionTable.LOWER && s >= beta)
+						|| (bound == TranspositionTable.UPPER && s <= alpha)) {
+					return s;
+				}
+			}
+		}
+
+		boolean inCheck = position.isInCheck();
+		int[] list = moves[ply];
+		int count = position.generateLegalMoves(list);
+		if (count == 0) {
+			return inCheck ? -MATE + ply : 0;
+		}
+		if (inCheck) {
+			depth++;
+		}
+		orderer.score(position, list, moveScores[ply], count, ttMove, ply);
+
+		int originalAlpha = alpha;
+		int best = -INFINITE;
+		int bestMove = 0;
+		for (int i = 0; i < count; i++) {
+			int move = pickNext(ply, i, count);
+			position.makeMove(move);
+			int s;
+			if (i == 0) {
+				s = -pvs(depth - 1, -beta, -alpha, ply + 1, pvNode);
+			} else {
+				s = -pvs(depth - 1, -alpha - 1, -alpha, ply + 1, false);
+				if (s > alpha && s < beta) {
+					s = -pvs(depth - 1, -beta, -alpha, ply + 1, true);
+				}
+			}
+			position.unmakeMove();
+			if (stopped) {
+				return 0;
+			}
+			if (s > best) {
+				best = s;
+				bestMove = move;
+				if (s > alpha) {
+					alpha = s;
+					updatePv(ply, move);
+					if (s >= beta) {
+						orderer.cutoff(position, move, ply, depth);
+						break;
+					}
+				}
+			}
+		}
+
+		int bound = best >= beta ? TranspositionTable.LOWER
+				: (best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER);
+		tt.store(key, bestMove, toTT(best, ply), depth, bound);
+		return best;
+	}
+
+	private int quiescence(int alpha, int beta, int ply) {
+		pvLength[ply] = ply;
+		nodes++;
+		if ((nodes & 1023) == 0) {
+			checkLimits();
+		}
+		if (stopped) {
+			return 0;
+		}
+		if (ply >= MAX_PLY - 1) {
+			return evaluate();
+		}
+
+		boolean inCheck = position.isInCheck();
+		int best = -INFINITE;
+		if (!inCheck) {
+			best = evaluate();
+			if (best >= beta) {
+				return best;
+			}
+			if (best > alpha) {
+				alpha = best;
+			}
+		}
+
+		int[] list = moves[ply];
+		int count = position.generateLegalMoves(list);
+		if (count == 0) {
+			return inCheck ? -MATE + ply : 0;
+		}
+		orderer.score(position, list, moveScores[ply], count, 0, ply);
+
+		for (int i = 0; i < count; i++) {
+			int move = pickNext(ply, i, count);
+			// Fora de cheque só capturas e promoções
+			if (!inCheck && !ChessMove.isCapture(move) && !ChessMove.isPromotion(move)) {
+				continue;
+			}
+			// Capturas que perdem material na troca não mudam o resultado
+			if (!inCheck && ChessMove.isCapture(move) && position.see(move) < 0) {
+				continue;
+			}
+			position.makeMove(move);
+			int s = -quiescence(-beta, -alpha, ply + 1);
+			position.unmakeMove();
+			if (stopped) {
+				return 0;
+			}
+			if (s > best) {
+				best = s;
+				if (s > alpha) {
+					alpha = s;
+					updatePv(ply, move);
+					if (s >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	private int evaluate() {
+		if (accumulator != null) {
+			return accumulator.evaluate(position.getSideToMove());
+		}
+		return Evaluation.evaluate(position, pawns);
+	}
+
+	// Seleção parcial: traz para a posição i o melhor movimento restante
+	private int pickNext(int ply, int i, int count) {
+		int[] list = moves[ply];
+		int[] scores = moveScores[ply];
+		int bestIndex = i;
+		for (int j = i + 1; j < count; j++) {
+			if (scores[j] > scores[bestIndex]) {
+				bestIndex = j;
+			}
+		}
+		int move = list[bestIndex];
+		list[bestIndex] = list[i];
+		list[i] = move;
+		int score = scores[bestIndex];
+		scores[bestIndex] = scores[i];
+		scores[i] = score;
+		return move;
+	}
+
+	private void updatePv(int ply, int move) {
+		pvTable[ply][ply] = move;
+		System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, pvLength[ply + 1] - (ply + 1));
+		pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+	}
+
+	private int maxDepth() {
+		int maxDepth = limits.getMaxDepth();
+		return maxDepth > 0 ? Math.min(maxDepth, MAX_PLY - 1) : MAX_PLY - 1;
+	}
+
+	private void checkLimits() {
+		if (!pondering && limits.getMaxNodes() > 0 && nodes >= limits.getMaxNodes()) {
+			stopped = true;
+		}
+		if (pondering) {
+			return;
+		}
+		SearchLimits current = limits;
+		if (current.getMaxTimeMillis() > 0
+				&& (System.nanoTime() - clockStart) / 1_000_000 >= current.getMaxTimeMillis()) {
+			stopped = true;
+		}
+	}
+
+	// Movimento estável gasta metade do limite flexível; movimento que acabou de mudar, 50% a mais
+	private boolean softLimitReached(int stableIterations) {
+		SearchLimits current = limits;
+		if (pondering || current.getSoftTimeMillis() <= 0) {
+			return false;
+		}
+		long soft = current.getSoftTimeMillis();
+		if (stableIterations >= STABLE_ITERATIONS) {
+			soft /= 2;
+		} else if (stableIterations == 0) {
+			soft = soft * 3 / 2;
+		}
+		return (System.nanoTime() - clockStart) / 1_000_000 >= soft;
+	}
+
+	// Scores de mate ficam relativos ao nó na tabela, e não à raiz
+	private static int toTT(int score, int ply) {
+		if (score >= MATE - MAX_PLY) {
+			return score + ply;
+		}
+		if (score <= -MATE + MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int fromTT(int score, int ply) {
+		if (score >= MATE - MAX_PLY) {
+			return score - ply;
+		}
+		if (score <= -MATE + MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+}
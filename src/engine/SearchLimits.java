@@ -0,0 +1,55 @@
+package engine;
+
+public class SearchLimits {
+
+	// 0 significa sem limite
+	private int maxDepth;
+	private long maxNodes;
+	private long maxTimeMillis;
+	// Limite flexível: ao fim de uma iteração a busca para se já passou dele,
+	// mais cedo quando o melhor movimento está estável
+	private long softTimeMillis;
+
+	public SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis) {
+		this(maxDepth, maxNodes, maxTimeMillis, 0);
+	}
+
+	public SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis, long softTimeMillis) {
+		this.maxDepth = maxDepth;
+		this.maxNodes = maxNodes;
+		this.maxTimeMillis = maxTimeMillis;
+		this.softTimeMillis = softTimeMillis;
+	}
+
+	public static SearchLimits depth(int maxDepth) {
+		return new SearchLimits(maxDepth, 0, 0);
+	}
+
+	public static SearchLimits nodes(long maxNodes) {
+		return new SearchLimits(0, maxNodes, 0);
+	}
+
+	public static SearchLimits time(long maxTimeMillis) {
+		return new SearchLimits(0, 0, maxTimeMillis);
+	}
+
+	public static SearchLimits infinite() {
+		return new SearchLimits(0, 0, 0);
+	}
+
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public long getMaxNodes() {
+		return maxNodes;
+	}
+
+	public long getMaxTimeMillis() {
+		return maxTimeMillis;
+	}
+
+	public long getSoftTimeMillis() {
+		return softTimeMillis;
+	}
+}
@@ -0,0 +1,73 @@
+package engine;
+
+import xadrez.ChessMove;
+
+public class SearchResult {
+
+	private int bestMove;
+	private int score;
+	private int depth;
+	private int[] pv;
+	private long nodes;
+	private long elapsedNanos;
+
+	public SearchResult(int bestMove, int score, int depth, int[] pv, long nodes, long elapsedNanos) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.depth = depth;
+		this.pv = pv;
+		this.nodes = nodes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public int[] getPv() {
+		return pv.clone();
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public long getNodesPerSecond() {
+		return elapsedNanos > 0 ? nodes * 1_000_000_000L / elapsedNanos : 0;
+	}
+
+	public boolean isMate() {
+		return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("depth ").append(depth);
+		if (isMate()) {
+			int plies = Search.MATE - Math.abs(score);
+			sb.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2);
+		} else {
+			sb.append(" score cp ").append(score);
+		}
+		sb.append(" nodes ").append(nodes);
+		sb.append(" nps ").append(getNodesPerSecond());
+		sb.append(" pv");
+		for (int move : pv) {
+			sb.append(' ').append(ChessMove.toString(move));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,27 @@
+package engine;
+
+// Converte o relógio em limites de busca: o flexível é a fatia de tempo por lance,
+// o rígido nunca passa de uma fração segura do tempo restante
+public final class TimeManager {
+
+	// Margem para a latência da interface e da thread que aplica o lance
+	private static final long OVERHEAD_MILLIS = 30;
+	// Número de lances presumido quando o controle não informa quantos faltam
+	private static final int DEFAULT_MOVES_TO_GO = 30;
+
+	private TimeManager() {
+	}
+
+	public static SearchLimits limits(long remainingMillis, long incrementMillis) {
+		return limits(remainingMillis, incrementMillis, 0);
+	}
+
+	public static SearchLimits limits(long remainingMillis, long incrementMillis, int movesToGo) {
+		long available = Math.max(1, remainingMillis - OVERHEAD_MILLIS);
+		int moves = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+		long soft = Math.min(available / moves + incrementMillis * 3 / 4, available / 2);
+		long hard = Math.min(soft * 4, available * 3 / 4);
+		soft = Math.max(1, soft);
+		return new SearchLimits(0, 0, Math.max(soft, hard), soft);
+	}
+}
@@ -0,0 +1,130 @@
+package engine;
+
+import java.util.Arrays;
+
+// Tabela compartilhada entre threads sem travas: cada entrada são dois longs,
+// (chave ^ dados) e dados. Uma escrita concorrente que misture metades de entradas
+// diferentes deixa de bater com a chave e vira simplesmente um miss.
+public class TranspositionTable {
+
+	public static final int EXACT = 1;
+	public static final int LOWER = 2;
+	public static final int UPPER = 3;
+
+	private static final int BUCKET = 4;
+
+	// Layout dos dados: movimento (bits 0-19), score (20-35, com sinal),
+	// profundidade (36-43), bound (44-45), geração (46-53)
+	private static final int SCORE_SHIFT = 20;
+	private static final int DEPTH_SHIFT = 36;
+	private static final int BOUND_SHIFT = 44;
+	private static final int AGE_SHIFT = 46;
+
+	private final long[] table;
+	private final int bucketMask;
+	private volatile int age;
+
+	public TranspositionTable(int sizeMb) {
+		if (sizeMb < 1) {
+			throw new IllegalArgumentException("Tamanho mínimo da tabela é 1 MB");
+		}
+		long entries = (sizeMb * 1024L * 1024L) / 16;
+		long buckets = Long.highestOneBit(Math.max(1, entries / BUCKET));
+		if (buckets * BUCKET * 2 > Integer.MAX_VALUE - 8) {
+			buckets = Integer.highestOneBit((Integer.MAX_VALUE - 8) / (BUCKET * 2));
+		}
+		table = new long[(int) (buckets * BUCKET * 2)];
+		bucketMask = (int) buckets - 1;
+	}
+
+	// Chamado no início de cada busca; entradas de buscas antigas são substituídas primeiro
+	public void newSearch() {
+		age = (age + 1) & 0xFF;
+	}
+
+	public void clear() {
+		Arrays.fill(table, 0L);
+	}
+
+	// Devolve os dados da entrada ou 0 quando a posição não está na tabela
+	public long probe(long key) {
+		int base = bucket(key);
+		for (int i = 0; i < BUCKET; i++) {
+			int slot = base + i * 2;
+			long data = table[slot + 1];
+			if ((table[slot] ^ data) == key && data != 0L) {
+				return data;
+			}
+		}
+		return 0L;
+	}
+
+	public void store(long key, int move, int score, int depth, int bound) {
+		int base = bucket(key);
+		int currentAge = age;
+		int replace = base;
+		int worst = Integer.MAX_VALUE;
+		for (int i = 0; i < BUCKET; i++) {
+			int slot = base + i * 2;
+			long data = table[slot + 1];
+			if ((table[slot] ^ data) == key || data == 0L) {
+				// Mesma posição: preserva o melhor movimento conhecido se o novo não tiver
+				if (move == 0 && data != 0L) {
+					move = move(data);
+				}
+				replace = slot;
+				break;
+			}
+			// Prefere substituir entradas rasas e de buscas anteriores
+			int value = depth(data) - 8 * ((currentAge - age(data)) & 0xFF);
+			if (value < worst) {
+				worst = value;
+				replace = slot;
+			}
+		}
+		long data = (move & 0xFFFFFL)
+				| ((score & 0xFFFFL) << SCORE_SHIFT)
+				| ((long) (depth & 0xFF) << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT)
+				| ((long) currentAge << AGE_SHIFT);
+		table[replace] = key ^ data;
+		table[replace + 1] = data;
+	}
+
+	// Ocupação aproximada em milésimos, amostrando os primeiros baldes
+	public int hashfull() {
+		int used = 0;
+		int samples = Math.min(1000, table.length / 2);
+		for (int i = 0; i < samples; i++) {
+			long data = table[i * 2 + 1];
+			if (data != 0L && age(data) == age) {
+				used++;
+			}
+		}
+		return used * 1000 / samples;
+	}
+
+	public static int move(long data) {
+		return (int) (data & 0xFFFFFL);
+	}
+
+	public static int score(long data) {
+		return (short) (data >>> SCORE_SHIFT);
+	}
+
+	public static int depth(long data) {
+		return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+	}
+
+	public static int bound(long data) {
+		return (int) ((data >>> BOUND_SHIFT) & 0x3);
+	}
+
+	private static int age(long data) {
+		return (int) ((data >>> AGE_SHIFT) & 0xFF);
+	}
+
+	private int bucket(long key) {
+		return ((int) (key >>> 32) & bucketMask) * BUCKET * 2;
+	}
+}
@@ -0,0 +1,79 @@
+package engine.nnue;
+
+import xadrez.BoardListener;
+import xadrez.Cor;
+import xadrez.Mailbox;
+import xadrez.PartidaXadrez;
+
+// Primeira camada mantida incrementalmente: cada peça colocada ou retirada do Mailbox
+// soma ou subtrai uma coluna de pesos nas duas perspectivas
+public class Accumulator implements BoardListener {
+
+	private final Network network;
+	private final Kernel kernel;
+	// [cor da perspectiva][neurônio]
+	private final short[][] values;
+
+	public Accumulator(Network network) {
+		this(network, Kernels.best());
+	}
+
+	public Accumulator(Network network, Kernel kernel) {
+		this.network = network;
+		this.kernel = kernel;
+		values = new short[2][network.getHidden()];
+	}
+
+	// Passa a acompanhar a posição, recalculando os acumuladores do zero
+	public void attach(Mailbox position) {
+		for (short[] acc : values) {
+			System.arraycopy(network.featureBias(), 0, acc, 0, acc.length);
+		}
+		for (int sq = 0; sq < 64; sq++) {
+			byte code = position.pieceAt(sq);
+			if (code != Mailbox.EMPTY) {
+				pieceAdded(sq, code);
+			}
+		}
+		position.setListener(this);
+	}
+
+	public void attach(PartidaXadrez match) {
+		attach(match.copyPosition());
+		match.setBoardListener(this);
+	}
+
+	@Override
+	public void pieceAdded(int square, byte code) {
+		int hidden = values[0].length;
+		kernel.add(values[Cor.BRANCO.ordinal()], network.featureWeights(), feature(Cor.BRANCO, square, code) * hidden);
+		kernel.add(values[Cor.PRETO.ordinal()], network.featureWeights(), feature(Cor.PRETO, square, code) * hidden);
+	}
+
+	@Override
+	public void pieceRemoved(int square, byte code) {
+		int hidden = values[0].length;
+		kernel.sub(values[Cor.BRANCO.ordinal()], network.featureWeights(), feature(Cor.BRANCO, square, code) * hidden);
+		kernel.sub(values[Cor.PRETO.ordinal()], network.featureWeights(), feature(Cor.PRETO, square, code) * hidden);
+	}
+
+	// Score em centipeões do ponto de vista de "sideToMove"
+	public int evaluate(Cor sideToMove) {
+		Cor other = (sideToMove == Cor.BRANCO) ? Cor.PRETO : Cor.BRANCO;
+		short[] weights = network.outputWeights();
+		int sum = kernel.dot(values[sideToMove.ordinal()], weights, 0, Network.QA)
+				+ kernel.dot(values[other.ordinal()], weights, values[0].length, Network.QA);
+		return (int) ((sum + (long) network.outputBias()) * Network.SCALE / (Network.QA * Network.QB));
+	}
+
+	// Na perspectiva das pretas o tabuleiro é espelhado e as cores trocadas,
+	// para que "minhas peças" tenham sempre os mesmos pesos
+	private static int feature(Cor perspective, int square, byte code) {
+		int index = code - 1;
+		if (perspective == Cor.PRETO) {
+			index = (index + 6) % 12;
+			square ^= 56;
+		}
+		return index * 64 + square;
+	}
+}
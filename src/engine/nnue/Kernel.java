@@ -0,0 +1,14 @@
+package engine.nnue;
+
+// Operações em int16 da rede; implementação escalar ou com a Vector API
+public interface Kernel {
+
+	// acc[i] += weights[offset + i]
+	void add(short[] acc, short[] weights, int offset);
+
+	// acc[i] -= weights[offset + i]
+	void sub(short[] acc, short[] weights, int offset);
+
+	// Soma de clamp(acc[i], 0, clip) * weights[offset + i]
+	int dot(short[] acc, short[] weights, int offset, int clip);
+}
@@ -0,0 +1,34 @@
+package engine.nnue;
+
+public final class Kernels {
+
+	private static final Kernel BEST = load();
+
+	private Kernels() {
+	}
+
+	// Kernel vetorial quando a Vector API está disponível, senão o escalar. O VectorKernel fica
+	// na raiz src-vector, fora do build padrão, e só entra se for compilado e estiver no classpath
+	public static Kernel best() {
+		return BEST;
+	}
+
+	public static Kernel scalar() {
+		return new ScalarKernel();
+	}
+
+	public static boolean isVectorized() {
+		return !(BEST instanceof ScalarKernel);
+	}
+
+	private static Kernel load() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return new ScalarKernel();
+		}
+		try {
+			return (Kernel) Class.forName("engine.nnue.VectorKernel").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return new ScalarKernel();
+		}
+	}
+}
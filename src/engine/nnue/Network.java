@@ -0,0 +1,93 @@
+package engine.nnue;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Pesos imutáveis da rede 768 -> 2xN -> 1, compartilhados entre threads.
+// Formato do arquivo (little-endian): "NNU1", N, pesos da camada de entrada (768 * N shorts,
+// feature a feature), bias da entrada (N shorts), pesos de saída (2 * N shorts) e bias de saída (int).
+public class Network {
+
+	public static final int INPUTS = 768;
+	// Escalas da quantização: ativação em [0, QA], pesos de saída multiplicados por QB
+	public static final int QA = 255;
+	public static final int QB = 64;
+	public static final int SCALE = 400;
+
+	private static final int MAGIC = 0x31554E4E;
+
+	private final int hidden;
+	private final short[] featureWeights;
+	private final short[] featureBias;
+	private final short[] outputWeights;
+	private final int outputBias;
+
+	public Network(int hidden, short[] featureWeights, short[] featureBias, short[] outputWeights, int outputBias) {
+		if (featureWeights.length != INPUTS * hidden || featureBias.length != hidden
+				|| outputWeights.length != 2 * hidden) {
+			throw new IllegalArgumentException("Dimensões dos pesos não correspondem a " + hidden + " neurônios");
+		}
+		this.hidden = hidden;
+		this.featureWeights = featureWeights;
+		this.featureBias = featureBias;
+		this.outputWeights = outputWeights;
+		this.outputBias = outputBias;
+	}
+
+	public static Network load(Path path) throws IOException {
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+			return load(in);
+		}
+	}
+
+	public static Network load(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		ByteBuffer header = ByteBuffer.wrap(data.readNBytes(8)).order(ByteOrder.LITTLE_ENDIAN);
+		if (header.remaining() < 8 || header.getInt() != MAGIC) {
+			throw new IOException("Arquivo de rede inválido");
+		}
+		int hidden = header.getInt();
+		if (hidden <= 0 || hidden > 4096) {
+			throw new IOException("Número de neurônios inválido: " + hidden);
+		}
+		short[] featureWeights = readShorts(data, INPUTS * hidden);
+		short[] featureBias = readShorts(data, hidden);
+		short[] outputWeights = readShorts(data, 2 * hidden);
+		int outputBias = ByteBuffer.wrap(data.readNBytes(4)).order(ByteOrder.LITTLE_ENDIAN).getInt();
+		return new Network(hidden, featureWeights, featureBias, outputWeights, outputBias);
+	}
+
+	private static short[] readShorts(DataInputStream data, int count) throws IOException {
+		byte[] bytes = new byte[count * 2];
+		data.readFully(bytes);
+		short[] values = new short[count];
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(values);
+		return values;
+	}
+
+	public int getHidden() {
+		return hidden;
+	}
+
+	short[] featureWeights() {
+		return featureWeights;
+	}
+
+	short[] featureBias() {
+		return featureBias;
+	}
+
+	short[] outputWeights() {
+		return outputWeights;
+	}
+
+	int outputBias() {
+		return outputBias;
+	}
+}
@@ -0,0 +1,27 @@
+package engine.nnue;
+
+final class ScalarKernel implements Kernel {
+
+	@Override
+	public void add(short[] acc, short[] weights, int offset) {
+		for (int i = 0; i < acc.length; i++) {
+			acc[i] += weights[offset + i];
+		}
+	}
+
+	@Override
+	public void sub(short[] acc, short[] weights, int offset) {
+		for (int i = 0; i < acc.length; i++) {
+			acc[i] -= weights[offset + i];
+		}
+	}
+
+	@Override
+	public int dot(short[] acc, short[] weights, int offset, int clip) {
+		int sum = 0;
+		for (int i = 0; i < acc.length; i++) {
+			sum += Math.max(0, Math.min(acc[i], clip)) * weights[offset + i];
+		}
+		return sum;
+	}
+}
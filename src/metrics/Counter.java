@@ -0,0 +1,25 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Contador com células por thread: incrementos concorrentes não disputam a mesma linha de cache
+public class Counter {
+
+	private final LongAdder adder = new LongAdder();
+
+	public void increment() {
+		adder.increment();
+	}
+
+	public void add(long value) {
+		adder.add(value);
+	}
+
+	public long sum() {
+		return adder.sum();
+	}
+
+	public void reset() {
+		adder.reset();
+	}
+}
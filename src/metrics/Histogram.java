@@ -0,0 +1,120 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma log-linear no estilo HDR: cada potência de 2 é dividida em 32 faixas iguais,
+// então qualquer valor é registrado com erro relativo de no máximo 1/32 (~3%),
+// de 1 ns a Long.MAX_VALUE, em memória fixa e sem travas.
+// As contagens são listradas como no LongAdder: cada thread grava na sua faixa de contadores,
+// criada no primeiro registro, e a leitura soma todas
+public class Histogram {
+
+	private static final int SUB_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = SUB_BUCKETS * (64 - SUB_BITS + 1);
+
+	// Potência de 2 com pelo menos uma faixa por processador
+	private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+	private static final AtomicInteger NEXT_STRIPE = new AtomicInteger();
+	// Threads recebem faixas em rodízio, então as primeiras STRIPES nunca se encontram
+	private static final ThreadLocal<Integer> STRIPE = ThreadLocal
+			.withInitial(() -> NEXT_STRIPE.getAndIncrement() & (STRIPES - 1));
+
+	private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		stripe().incrementAndGet(index(value));
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	public long count() {
+		return count.sum();
+	}
+
+	public long max() {
+		return max.get();
+	}
+
+	public double mean() {
+		long n = count.sum();
+		return n == 0 ? 0.0 : (double) sum.sum() / n;
+	}
+
+	// Maior valor equivalente da faixa que contém o percentil (0 a 100)
+	public long percentile(double percentile) {
+		long total = count.sum();
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			for (int s = 0; s < STRIPES; s++) {
+				AtomicLongArray counts = stripes.get(s);
+				if (counts != null) {
+					seen += counts.get(i);
+				}
+			}
+			if (seen >= target) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	public void reset() {
+		for (int s = 0; s < STRIPES; s++) {
+			AtomicLongArray counts = stripes.get(s);
+			if (counts != null) {
+				for (int i = 0; i < BUCKETS; i++) {
+					counts.set(i, 0);
+				}
+			}
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+
+	private AtomicLongArray stripe() {
+		int s = STRIPE.get();
+		AtomicLongArray counts = stripes.get(s);
+		if (counts == null) {
+			counts = new AtomicLongArray(BUCKETS);
+			if (!stripes.compareAndSet(s, null, counts)) {
+				counts = stripes.get(s);
+			}
+		}
+		return counts;
+	}
+
+	private static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		int sub = (int) (value >>> shift) - SUB_BUCKETS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+	}
+
+	private static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		long mantissa = SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,66 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Desligado por padrão: o código instrumentado só paga a leitura de isEnabled().
+// Com -Dxadrez.metrics=true as métricas já começam ligadas e publicadas via JMX
+public final class Metrics {
+
+	public static final String OBJECT_NAME = "xadrez:type=Metrics";
+	public static final String PROPERTY = "xadrez.metrics";
+
+	private static volatile boolean enabled;
+	private static volatile MetricsRegistry registry = new SimpleRegistry();
+	private static boolean registered;
+
+	static {
+		if (Boolean.getBoolean(PROPERTY)) {
+			registerMBean();
+			enable();
+		}
+	}
+
+	private Metrics() {
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void enable() {
+		enabled = true;
+	}
+
+	public static void disable() {
+		enabled = false;
+	}
+
+	public static MetricsRegistry getRegistry() {
+		return registry;
+	}
+
+	public static void setRegistry(MetricsRegistry registry) {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry não pode ser nulo");
+		}
+		Metrics.registry = registry;
+	}
+
+	// Publica as métricas no servidor de MBeans da plataforma (jconsole, VisualVM)
+	public static synchronized void registerMBean() {
+		if (registered) {
+			return;
+		}
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			server.registerMBean(new MetricsJmx(), new ObjectName(OBJECT_NAME));
+			registered = true;
+		} catch (JMException e) {
+			throw new IllegalStateException("Falha ao registrar o MBean de métricas", e);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+class MetricsJmx implements MetricsMXBean {
+
+	@Override
+	public boolean isEnabled() {
+		return Metrics.isEnabled();
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		if (enabled) {
+			Metrics.enable();
+		} else {
+			Metrics.disable();
+		}
+	}
+
+	@Override
+	public Map<String, Long> getCounters() {
+		Map<String, Long> values = new TreeMap<>();
+		Metrics.getRegistry().getCounters().forEach((name, counter) -> values.put(name, counter.sum()));
+		return values;
+	}
+
+	@Override
+	public Map<String, Long> getHistograms() {
+		Map<String, Long> values = new TreeMap<>();
+		Metrics.getRegistry().getHistograms().forEach((name, h) -> {
+			values.put(name + ".count", h.count());
+			values.put(name + ".mean", Math.round(h.mean()));
+			values.put(name + ".p50", h.percentile(50));
+			values.put(name + ".p90", h.percentile(90));
+			values.put(name + ".p99", h.percentile(99));
+			values.put(name + ".p999", h.percentile(99.9));
+			values.put(name + ".max", h.max());
+		});
+		return values;
+	}
+
+	@Override
+	public void reset() {
+		Metrics.getRegistry().reset();
+	}
+}
@@ -0,0 +1,17 @@
+package metrics;
+
+import java.util.Map;
+
+public interface MetricsMXBean {
+
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	Map<String, Long> getCounters();
+
+	// Por histograma: count, mean, p50, p90, p99, p999 e max, em nanossegundos
+	Map<String, Long> getHistograms();
+
+	void reset();
+}
@@ -0,0 +1,18 @@
+package metrics;
+
+import java.util.Map;
+
+// Ponto de extensão: outra implementação pode encaminhar as métricas para um sistema externo
+public interface MetricsRegistry {
+
+	// Sempre a mesma instância para o mesmo nome
+	Counter counter(String name);
+
+	Histogram histogram(String name);
+
+	Map<String, Counter> getCounters();
+
+	Map<String, Histogram> getHistograms();
+
+	void reset();
+}
@@ -0,0 +1,38 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SimpleRegistry implements MetricsRegistry {
+
+	private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	@Override
+	public Counter counter(String name) {
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	@Override
+	public Histogram histogram(String name) {
+		return histograms.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	@Override
+	public Map<String, Counter> getCounters() {
+		return Collections.unmodifiableMap(new TreeMap<>(counters));
+	}
+
+	@Override
+	public Map<String, Histogram> getHistograms() {
+		return Collections.unmodifiableMap(new TreeMap<>(histograms));
+	}
+
+	@Override
+	public void reset() {
+		counters.values().forEach(Counter::reset);
+		histograms.values().forEach(Histogram::reset);
+	}
+}
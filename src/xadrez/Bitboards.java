@@ -0,0 +1,109 @@
+package xadrez;
+
+import tabuleiro.Posicao;
+
+public final class Bitboards {
+
+	private static final long[] KNIGHT_ATTACKS = new long[64];
+	private static final long[] KING_ATTACKS = new long[64];
+	// Indexado por Cor.ordinal()
+	private static final long[][] PAWN_ATTACKS = new long[2][64];
+	// Casas estritamente entre duas casas alinhadas, e a linha inteira que passa por elas
+	private static final long[][] BETWEEN = new long[64][64];
+	private static final long[][] LINE = new long[64][64];
+
+	static {
+		int[][] knight = { { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 }, { 1, -2 }, { 1, 2 }, { 2, -1 }, { 2, 1 } };
+		int[][] king = { { -1, -1 }, { -1, 0 }, { -1, 1 }, { 0, -1 }, { 0, 1 }, { 1, -1 }, { 1, 0 }, { 1, 1 } };
+		for (int sq = 0; sq < 64; sq++) {
+			KNIGHT_ATTACKS[sq] = offsets(sq, knight);
+			KING_ATTACKS[sq] = offsets(sq, king);
+			// Peões brancos avançam para a linha 0, pretos para a linha 7
+			PAWN_ATTACKS[Cor.BRANCO.ordinal()][sq] = offsets(sq, new int[][] { { -1, -1 }, { -1, 1 } });
+			PAWN_ATTACKS[Cor.PRETO.ordinal()][sq] = offsets(sq, new int[][] { { 1, -1 }, { 1, 1 } });
+		}
+		for (int sq = 0; sq < 64; sq++) {
+			for (int[] d : king) {
+				long ray = 0L;
+				int linha = linha(sq) + d[0];
+				int coluna = coluna(sq) + d[1];
+				while (linha >= 0 && linha < 8 && coluna >= 0 && coluna < 8) {
+					int to = linha * 8 + coluna;
+					BETWEEN[sq][to] = ray;
+					ray |= 1L << to;
+					linha += d[0];
+					coluna += d[1];
+				}
+				long opposite = 0L;
+				linha = linha(sq) - d[0];
+				coluna = coluna(sq) - d[1];
+				while (linha >= 0 && linha < 8 && coluna >= 0 && coluna < 8) {
+					opposite |= 1L << (linha * 8 + coluna);
+					linha -= d[0];
+					coluna -= d[1];
+				}
+				long line = ray | opposite | (1L << sq);
+				for (long r = ray; r != 0L; r &= r - 1) {
+					LINE[sq][Long.numberOfTrailingZeros(r)] = line;
+				}
+			}
+		}
+	}
+
+	private Bitboards() {
+	}
+
+	public static long knightAttacks(int square) {
+		return KNIGHT_ATTACKS[square];
+	}
+
+	public static long kingAttacks(int square) {
+		return KING_ATTACKS[square];
+	}
+
+	public static long pawnAttacks(Cor cor, int square) {
+		return PAWN_ATTACKS[cor.ordinal()][square];
+	}
+
+	public static int square(Posicao posicao) {
+		return posicao.getLinha() * 8 + posicao.getColuna();
+	}
+
+	public static int linha(int square) {
+		return square >>> 3;
+	}
+
+	public static int coluna(int square) {
+		return square & 7;
+	}
+
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	public static long line(int from, int to) {
+		return LINE[from][to];
+	}
+
+	public static boolean[][] toMatrix(long bitboard) {
+		boolean[][] mat = new boolean[8][8];
+		while (bitboard != 0) {
+			int sq = Long.numberOfTrailingZeros(bitboard);
+			mat[sq >>> 3][sq & 7] = true;
+			bitboard &= bitboard - 1;
+		}
+		return mat;
+	}
+
+	private static long offsets(int sq, int[][] deltas) {
+		long mask = 0L;
+		for (int[] d : deltas) {
+			int linha = linha(sq) + d[0];
+			int coluna = coluna(sq) + d[1];
+			if (linha >= 0 && linha < 8 && coluna >= 0 && coluna < 8) {
+				mask |= 1L << (linha * 8 + coluna);
+			}
+		}
+		return mask;
+	}
+}
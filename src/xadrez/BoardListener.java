@@ -0,0 +1,9 @@
+package xadrez;
+
+// Notificado a cada peça colocada ou retirada do Mailbox, inclusive ao desfazer movimentos
+public interface BoardListener {
+
+	void pieceAdded(int square, byte code);
+
+	void pieceRemoved(int square, byte code);
+}
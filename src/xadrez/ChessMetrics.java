@@ -0,0 +1,55 @@
+package xadrez;
+
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.Metrics;
+import metrics.MetricsRegistry;
+
+// Métricas da partida já resolvidas no registry atual, para não buscar por nome a cada operação.
+// Só é usado depois de conferir Metrics.isEnabled().
+final class ChessMetrics {
+
+	private static volatile ChessMetrics current;
+
+	final MetricsRegistry registry;
+	final Histogram performChessMove;
+	final Histogram makeMove;
+	final Counter[] possibleMoves = new Counter[TipoPeca.values().length];
+	final Counter legalMoves;
+	final Counter testCheck;
+	final Counter testCheckMate;
+	final Counter make;
+	final Counter undo;
+
+	private ChessMetrics(MetricsRegistry registry) {
+		this.registry = registry;
+		performChessMove = registry.histogram("performChessMove.nanos");
+		makeMove = registry.histogram("makeMove.nanos");
+		for (TipoPeca tipo : TipoPeca.values()) {
+			possibleMoves[tipo.ordinal()] = registry.counter("possibleMoves." + tipo);
+		}
+		legalMoves = registry.counter("legalMoves");
+		testCheck = registry.counter("testCheck");
+		testCheckMate = registry.counter("testCheckMate");
+		make = registry.counter("make");
+		undo = registry.counter("undo");
+	}
+
+	// Troca de registry é rara; corrida aqui só cria handles equivalentes
+	static ChessMetrics get() {
+		MetricsRegistry registry = Metrics.getRegistry();
+		ChessMetrics m = current;
+		if (m == null || m.registry != registry) {
+			m = new ChessMetrics(registry);
+			current = m;
+		}
+		return m;
+	}
+
+	// Motivo de um ChessException, contado em "rejected.<motivo>"
+	static void rejected(String reason) {
+		if (Metrics.isEnabled()) {
+			get().registry.counter("rejected." + reason).increment();
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package xadrez;
+
+public final class ChessMove {
+
+	// Layout do int: origem (bits 0-5), destino (6-11), flags (12-15),
+	// peça da promoção (16-18, TipoPeca.ordinal(), 0 quando não há)
+	public static final int QUIET = 0;
+	public static final int CAPTURE = 1;
+	public static final int DOUBLE_PUSH = 2;
+	public static final int EN_PASSANT = 4;
+	public static final int CASTLING = 8;
+
+	public static final int MAX_MOVES = 256;
+
+	private static final TipoPeca[] TIPOS = TipoPeca.values();
+
+	private ChessMove() {
+	}
+
+	public static int encode(int from, int to, int flags) {
+		return from | (to << 6) | (flags << 12);
+	}
+
+	public static int encode(int from, int to, int flags, TipoPeca promotion) {
+		return encode(from, to, flags) | (promotion.ordinal() << 16);
+	}
+
+	public static int from(int move) {
+		return move & 0x3F;
+	}
+
+	public static int to(int move) {
+		return (move >>> 6) & 0x3F;
+	}
+
+	public static int flags(int move) {
+		return (move >>> 12) & 0xF;
+	}
+
+	public static boolean isCapture(int move) {
+		return (move & (CAPTURE << 12)) != 0;
+	}
+
+	public static boolean isEnPassant(int move) {
+		return (move & (EN_PASSANT << 12)) != 0;
+	}
+
+	public static boolean isCastling(int move) {
+		return (move & (CASTLING << 12)) != 0;
+	}
+
+	public static boolean isPromotion(int move) {
+		return (move >>> 16) != 0;
+	}
+
+	public static TipoPeca promotion(int move) {
+		return isPromotion(move) ? TIPOS[move >>> 16] : null;
+	}
+
+	public static String squareName(int square) {
+		return "" + (char) ('a' + Bitboards.coluna(square)) + (8 - Bitboards.linha(square));
+	}
+
+	public static String toString(int move) {
+		String s = squareName(from(move)) + squareName(to(move));
+		if (isPromotion(move)) {
+			s += "pnbrqk".charAt(move >>> 16);
+		}
+		return s;
+	}
+}
@@ -3,6 +3,18 @@ package xadrez;
 import tabuleiro.Posicao;
 
 public class ChessPosition {
+
+	// Instâncias únicas das 64 casas, indexadas por Bitboards.square
+	private static final ChessPosition[] CHESS_POSITIONS = new ChessPosition[64];
+	private static final Posicao[] POSICOES = new Posicao[64];
+
+	static {
+		for (int sq = 0; sq < 64; sq++) {
+			CHESS_POSITIONS[sq] = new ChessPosition((char) ('a' + Bitboards.coluna(sq)), 8 - Bitboards.linha(sq));
+			POSICOES[sq] = new PosicaoFixa(Bitboards.linha(sq), Bitboards.coluna(sq));
+		}
+	}
+
 	private char coluna;
 	private int linha;
 	
@@ -14,6 +26,17 @@ public class ChessPosition {
 		this.linha = linha;
 	}
 
+	public static ChessPosition of(char coluna, int linha) {
+		if(coluna < 'a' || coluna > 'h' || linha < 1 || linha > 8) {
+			throw new ChessException("Erro instanciando ChessPosition. Valores validos são de a1 até a8");
+		}
+		return CHESS_POSITIONS[(8 - linha) * 8 + (coluna - 'a')];
+	}
+
+	public static ChessPosition fromSquare(int square) {
+		return CHESS_POSITIONS[square];
+	}
+
 	public char getColuna() {
 		return coluna;
 	}
@@ -21,17 +44,48 @@ public class ChessPosition {
 	public int getLinha() {
 		return linha;
 	}
+
+	public int toSquare() {
+		return (8 - linha) * 8 + (coluna - 'a');
+	}
 	
 	protected Posicao toPosition() {
-		return new Posicao(8 - linha, coluna - 'a');
+		return POSICOES[toSquare()];
 	}
 	
 	protected static ChessPosition fromPosition(Posicao posicao) {
-		return new ChessPosition((char)('a' + posicao.getColuna()), 8 - posicao.getLinha());
+		return CHESS_POSITIONS[Bitboards.square(posicao)];
+	}
+
+	static Posicao squarePosition(int square) {
+		return POSICOES[square];
 	}
 	
 	@Override
 	public String toString() {
 		return "" + coluna + linha;
 	}
+
+	// Posicao compartilhada entre partidas, portanto não pode ser alterada
+	private static final class PosicaoFixa extends Posicao {
+
+		private PosicaoFixa(int linha, int coluna) {
+			super(linha, coluna);
+		}
+
+		@Override
+		public void setLinha(int linha) {
+			throw new UnsupportedOperationException("Posição compartilhada não pode ser alterada");
+		}
+
+		@Override
+		public void setColuna(int coluna) {
+			throw new UnsupportedOperationException("Posição compartilhada não pode ser alterada");
+		}
+
+		@Override
+		public void setValues(int linha, int coluna) {
+			throw new UnsupportedOperationException("Posição compartilhada não pode ser alterada");
+		}
+	}
 }
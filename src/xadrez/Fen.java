@@ -0,0 +1,145 @@
+package xadrez;
+
+// Leitura e escrita da notação FEN para o retrato imutável da posição
+public final class Fen {
+
+	public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private static final String PIECES = "PNBRQK";
+
+	private Fen() {
+	}
+
+	public static Position parse(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+		if (fields.length < 4) {
+			throw new ChessException("FEN inválida: " + fen);
+		}
+		Mailbox position = new Mailbox();
+
+		// Casas na ordem da FEN: da linha 8 para a 1, da coluna a para a h, igual aos índices
+		int sq = 0;
+		for (char c : fields[0].toCharArray()) {
+			if (c == '/') {
+				continue;
+			}
+			if (c >= '1' && c <= '8') {
+				sq += c - '0';
+				continue;
+			}
+			int tipo = PIECES.indexOf(Character.toUpperCase(c));
+			if (tipo < 0 || sq >= 64) {
+				throw new ChessException("FEN inválida: " + fen);
+			}
+			Cor cor = Character.isUpperCase(c) ? Cor.BRANCO : Cor.PRETO;
+			position.put(sq++, Mailbox.code(cor, TipoPeca.values()[tipo]));
+		}
+		if (sq != 64 || Long.bitCount(position.getBitboards()[TabuleiroBitboard.index(Cor.BRANCO, TipoPeca.KING)]) != 1
+				|| Long.bitCount(position.getBitboards()[TabuleiroBitboard.index(Cor.PRETO, TipoPeca.KING)]) != 1) {
+			throw new ChessException("FEN inválida: " + fen);
+		}
+
+		Cor sideToMove = fields[1].equals("b") ? Cor.PRETO : Cor.BRANCO;
+		position.setSideToMove(sideToMove);
+
+		int castling = 0;
+		for (char c : fields[2].toCharArray()) {
+			switch (c) {
+			case 'K':
+				castling |= MoveGenerator.WHITE_KINGSIDE;
+				break;
+			case 'Q':
+				castling |= MoveGenerator.WHITE_QUEENSIDE;
+				break;
+			case 'k':
+				castling |= MoveGenerator.BLACK_KINGSIDE;
+				break;
+			case 'q':
+				castling |= MoveGenerator.BLACK_QUEENSIDE;
+				break;
+			default:
+				break;
+			}
+		}
+		// Direito de roque só vale com rei e torre nas casas iniciais
+		position.setCastlingRights(castling & homeRights(position));
+
+		if (!fields[3].equals("-")) {
+			position.setEnPassantSquare(ChessPosition.of(fields[3].charAt(0), fields[3].charAt(1) - '0').toSquare());
+		}
+		if (fields.length > 4) {
+			position.setHalfmoveClock(Integer.parseInt(fields[4]));
+		}
+		int fullmove = fields.length > 5 ? Integer.parseInt(fields[5]) : 1;
+		// O turno da partida conta meios-lances a partir de 1
+		int turn = (fullmove - 1) * 2 + (sideToMove == Cor.BRANCO ? 1 : 2);
+
+		boolean check = position.isInCheck();
+		boolean noMoves = position.generateLegalMoves(new int[ChessMove.MAX_MOVES]) == 0;
+		return position.snapshot(turn, check, check && noMoves, !check && noMoves);
+	}
+
+	private static int homeRights(Mailbox position) {
+		int rights = 0;
+		if (position.pieceAt(60) == Mailbox.code(Cor.BRANCO, TipoPeca.KING)) {
+			byte rook = Mailbox.code(Cor.BRANCO, TipoPeca.ROOK);
+			rights |= position.pieceAt(63) == rook ? MoveGenerator.WHITE_KINGSIDE : 0;
+			rights |= position.pieceAt(56) == rook ? MoveGenerator.WHITE_QUEENSIDE : 0;
+		}
+		if (position.pieceAt(4) == Mailbox.code(Cor.PRETO, TipoPeca.KING)) {
+			byte rook = Mailbox.code(Cor.PRETO, TipoPeca.ROOK);
+			rights |= position.pieceAt(7) == rook ? MoveGenerator.BLACK_KINGSIDE : 0;
+			rights |= position.pieceAt(0) == rook ? MoveGenerator.BLACK_QUEENSIDE : 0;
+		}
+		return rights;
+	}
+
+	public static String toFen(Position position) {
+		StringBuilder sb = new StringBuilder();
+		for (int linha = 0; linha < 8; linha++) {
+			int empty = 0;
+			for (int coluna = 0; coluna < 8; coluna++) {
+				byte code = position.pieceAt(linha * 8 + coluna);
+				if (code == Mailbox.EMPTY) {
+					empty++;
+					continue;
+				}
+				if (empty > 0) {
+					sb.append(empty);
+					empty = 0;
+				}
+				char c = PIECES.charAt(Mailbox.tipo(code).ordinal());
+				sb.append(Mailbox.cor(code) == Cor.BRANCO ? c : Character.toLowerCase(c));
+			}
+			if (empty > 0) {
+				sb.append(empty);
+			}
+			if (linha < 7) {
+				sb.append('/');
+			}
+		}
+
+		sb.append(position.getSideToMove() == Cor.BRANCO ? " w " : " b ");
+		int castling = position.getCastlingRights();
+		if (castling == 0) {
+			sb.append('-');
+		}
+		if ((castling & MoveGenerator.WHITE_KINGSIDE) != 0) {
+			sb.append('K');
+		}
+		if ((castling & MoveGenerator.WHITE_QUEENSIDE) != 0) {
+			sb.append('Q');
+		}
+		if ((castling & MoveGenerator.BLACK_KINGSIDE) != 0) {
+			sb.append('k');
+		}
+		if ((castling & MoveGenerator.BLACK_QUEENSIDE) != 0) {
+			sb.append('q');
+		}
+		int ep = position.getEnPassantSquare();
+		sb.append(' ').append(ep < 0 ? "-" : ChessMove.squareName(ep));
+		sb.append(' ').append(position.getHalfmoveClock());
+		sb.append(' ').append((position.getTurn() + 1) / 2);
+		return sb.toString();
+	}
+}
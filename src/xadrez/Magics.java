@@ -0,0 +1,128 @@
+package xadrez;
+
+public final class Magics {
+
+	private static final int[][] ROOK_DIRECTIONS = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+	private static final int[][] BISHOP_DIRECTIONS = { { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 } };
+
+	// Números mágicos para a indexação a8 = 0 ... h1 = 63 usada em Bitboards
+	private static final long[] ROOK_MAGICS = {
+			0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+			0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+			0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+			0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+			0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+			0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+			0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+			0x0050500500080100L, 0x0000020080040080L, 0x0C10010400420810L, 0x1040008200005104L,
+			0x01808240088004A0L, 0x0882804004802000L, 0x0880402001001100L, 0x2000210409001000L,
+			0x2000480131001500L, 0x0000800400800200L, 0x000002380C001003L, 0x4600084882000431L,
+			0x0080002000504000L, 0x0300500020004002L, 0x0040408200220011L, 0x0010040008004040L,
+			0x0000080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+			0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+			0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+			0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+			0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L };
+
+	private static final long[] BISHOP_MAGICS = {
+			0x20C0090901061081L, 0x0024040094030104L, 0x8210810200290200L, 0x0011040484620000L,
+			0x0081104002221000L, 0x0009012011001350L, 0x0081010802400380L, 0x0000420210010408L,
+			0x0008105002280050L, 0x0001028484040044L, 0x2A00880810408804L, 0x7020022282000100L,
+			0x0084040420100A50L, 0x000401010840E000L, 0x2020020210420888L, 0x0008084202012010L,
+			0x2010400810018800L, 0x0445122008020840L, 0x0804100808002008L, 0x0008002104110100L,
+			0x0061005820080800L, 0x2001000200820100L, 0x480C210084010800L, 0x3004442500480420L,
+			0x1010102240048100L, 0x00182009084220A3L, 0x8803090A10004205L, 0x0208080040202020L,
+			0x000C044084010040L, 0x00A1010002004106L, 0x6008210020640202L, 0x1600902112860801L,
+			0x00042008C1220200L, 0x010C042002440140L, 0x5022080200040820L, 0x0402004042940100L,
+			0x0860108400008020L, 0x000C080022021000L, 0x0264080652822100L, 0x4005031221010401L,
+			0x0004502410008400L, 0x000500B010A20400L, 0x0415094050080800L, 0x080000201800A104L,
+			0x4022A80304000110L, 0x4012140802028020L, 0x40200104010100A0L, 0x12810806008B0C41L,
+			0x0020441008080000L, 0x2002120084045420L, 0x0704020062080002L, 0x0000001084040001L,
+			0x0322200891240200L, 0xF040200210024800L, 0x0140824832008042L, 0x000210020A004602L,
+			0x0083042805141020L, 0x002C12009A011000L, 0x0041A00044140400L, 0x00004004020A0202L,
+			0x0000140010020210L, 0x2864160811012200L, 0x2060080841082A17L, 0xA010041108003100L };
+
+	private static final long[] ROOK_MASKS = new long[64];
+	private static final int[] ROOK_SHIFTS = new int[64];
+	private static final long[][] ROOK_ATTACKS = new long[64][];
+
+	private static final long[] BISHOP_MASKS = new long[64];
+	private static final int[] BISHOP_SHIFTS = new int[64];
+	private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+	static {
+		for (int sq = 0; sq < 64; sq++) {
+			init(sq, ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_ATTACKS);
+			init(sq, BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+		}
+	}
+
+	private Magics() {
+	}
+
+	public static long rookAttacks(int square, long occupancy) {
+		return ROOK_ATTACKS[square][(int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	public static long bishopAttacks(int square, long occupancy) {
+		return BISHOP_ATTACKS[square][(int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	public static long queenAttacks(int square, long occupancy) {
+		return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+	}
+
+	private static void init(int sq, int[][] directions, long[] magics, long[] masks, int[] shifts, long[][] attacks) {
+		long mask = relevantMask(sq, directions);
+		int bits = Long.bitCount(mask);
+		long[] table = new long[1 << bits];
+
+		// Percorre todos os subconjuntos da máscara (carry-rippler)
+		long subset = 0L;
+		do {
+			table[(int) ((subset * magics[sq]) >>> (64 - bits))] = slidingAttacks(sq, subset, directions);
+			subset = (subset - mask) & mask;
+		} while (subset != 0L);
+
+		masks[sq] = mask;
+		shifts[sq] = 64 - bits;
+		attacks[sq] = table;
+	}
+
+	// Casas que podem bloquear o raio, sem as bordas
+	private static long relevantMask(int sq, int[][] directions) {
+		long mask = 0L;
+		for (int[] d : directions) {
+			int linha = (sq >>> 3) + d[0];
+			int coluna = (sq & 7) + d[1];
+			while (inside(linha + d[0], coluna + d[1])) {
+				mask |= 1L << (linha * 8 + coluna);
+				linha += d[0];
+				coluna += d[1];
+			}
+		}
+		return mask;
+	}
+
+	private static long slidingAttacks(int sq, long occupancy, int[][] directions) {
+		long attacks = 0L;
+		for (int[] d : directions) {
+			int linha = (sq >>> 3) + d[0];
+			int coluna = (sq & 7) + d[1];
+			while (inside(linha, coluna)) {
+				long bit = 1L << (linha * 8 + coluna);
+				attacks |= bit;
+				if ((occupancy & bit) != 0) {
+					break;
+				}
+				linha += d[0];
+				coluna += d[1];
+			}
+		}
+		return attacks;
+	}
+
+	private static boolean inside(int linha, int coluna) {
+		return linha >= 0 && linha < 8 && coluna >= 0 && coluna < 8;
+	}
+}
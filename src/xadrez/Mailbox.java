@@ -0,0 +1,530 @@
+package xadrez;
+
+import java.util.Arrays;
+
+public class Mailbox {
+
+	public static final byte EMPTY = 0;
+	public static final int ALL_CASTLING = MoveGenerator.WHITE_KINGSIDE | MoveGenerator.WHITE_QUEENSIDE
+			| MoveGenerator.BLACK_KINGSIDE | MoveGenerator.BLACK_QUEENSIDE;
+
+	private static final TipoPeca[] TIPOS = TipoPeca.values();
+	private static final Cor[] CORES = Cor.values();
+
+	// Direitos de roque que continuam válidos quando uma peça sai ou chega na casa
+	private static final int[] CASTLING_MASK = new int[64];
+
+	static {
+		Arrays.fill(CASTLING_MASK, ALL_CASTLING);
+		CASTLING_MASK[0] &= ~MoveGenerator.BLACK_QUEENSIDE;
+		CASTLING_MASK[7] &= ~MoveGenerator.BLACK_KINGSIDE;
+		CASTLING_MASK[4] &= ~(MoveGenerator.BLACK_KINGSIDE | MoveGenerator.BLACK_QUEENSIDE);
+		CASTLING_MASK[56] &= ~MoveGenerator.WHITE_QUEENSIDE;
+		CASTLING_MASK[63] &= ~MoveGenerator.WHITE_KINGSIDE;
+		CASTLING_MASK[60] &= ~(MoveGenerator.WHITE_KINGSIDE | MoveGenerator.WHITE_QUEENSIDE);
+	}
+
+	// Código da peça: Cor.ordinal() * 6 + TipoPeca.ordinal() + 1, 0 para casa vazia
+	private byte[] squares = new byte[64];
+	private long[] bitboards = new long[12];
+	// Ocupação por cor, mantida junto com os bitboards
+	private long[] occupancy = new long[2];
+	private int[] kingSquares = new int[2];
+	private Cor sideToMove = Cor.BRANCO;
+	private int castlingRights;
+	private int epSquare = -1;
+	// Meios-lances desde a última captura ou lance de peão
+	private int halfmoveClock;
+	private long key;
+	// Chave só dos peões, para a tabela de estrutura de peões
+	private long pawnKey;
+	// Somas incrementais de material e tabelas, do ponto de vista das brancas
+	private int mgScore;
+	private int egScore;
+	private int phase;
+	private BoardListener listener;
+	// Lista de trocas do SEE, criada no primeiro uso e reaproveitada
+	private int[] swapList;
+
+	// Pilha de estado irreversível: movimento feito e peça capturada, roque e en passant anteriores.
+	// Começa pequena e dobra quando enche, para muitas partidas em memória custarem pouco
+	private static final int INITIAL_STACK = 16;
+	private int[] moveStack = new int[INITIAL_STACK];
+	private int[] stateStack = new int[INITIAL_STACK];
+	private long[] keyStack = new long[INITIAL_STACK];
+	private int ply;
+
+	public Mailbox() {
+	}
+
+	// Leva junto as chaves desde o último lance irreversível, para a cópia ainda enxergar
+	// repetições com a partida; a cópia só desfaz os movimentos feitos nela
+	public Mailbox(Mailbox other) {
+		int window = Math.min(other.halfmoveClock, other.ply);
+		if (window > INITIAL_STACK) {
+			int capacity = Integer.highestOneBit(window) * 2;
+			moveStack = new int[capacity];
+			stateStack = new int[capacity];
+			keyStack = new long[capacity];
+		}
+		System.arraycopy(other.keyStack, other.ply - window, keyStack, 0, window);
+		ply = window;
+		squares = other.squares.clone();
+		bitboards = other.bitboards.clone();
+		occupancy = other.occupancy.clone();
+		kingSquares = other.kingSquares.clone();
+		sideToMove = other.sideToMove;
+		castlingRights = other.castlingRights;
+		epSquare = other.epSquare;
+		halfmoveClock = other.halfmoveClock;
+		key = other.key;
+		pawnKey = other.pawnKey;
+		mgScore = other.mgScore;
+		egScore = other.egScore;
+		phase = other.phase;
+	}
+
+	Mailbox(Position position) {
+		squares = position.squares().clone();
+		bitboards = position.bitboards().clone();
+		for (int i = 0; i < 12; i++) {
+			occupancy[i / 6] |= bitboards[i];
+		}
+		kingSquares[Cor.BRANCO.ordinal()] = position.kingSquare(Cor.BRANCO);
+		kingSquares[Cor.PRETO.ordinal()] = position.kingSquare(Cor.PRETO);
+		sideToMove = position.getSideToMove();
+		castlingRights = position.getCastlingRights();
+		epSquare = position.getEnPassantSquare();
+		halfmoveClock = position.getHalfmoveClock();
+		key = position.getKey();
+		pawnKey = position.getPawnKey();
+		mgScore = position.mgScore();
+		egScore = position.egScore();
+		phase = position.phase();
+	}
+
+	// Estado da partida de fora do Mailbox vem de quem chama
+	Position snapshot(int turn, boolean check, boolean checkMate, boolean stalemate) {
+		return new Position(squares.clone(), bitboards.clone(), kingSquares[Cor.BRANCO.ordinal()],
+				kingSquares[Cor.PRETO.ordinal()], sideToMove, castlingRights, epSquare, halfmoveClock, key, pawnKey,
+				mgScore, egScore, phase, turn, check, checkMate, stalemate);
+	}
+
+	public static Mailbox initialPosition() {
+		Mailbox position = new Mailbox();
+		TipoPeca[] back = { TipoPeca.ROOK, TipoPeca.KNIGHT, TipoPeca.BISHOP, TipoPeca.QUEEN, TipoPeca.KING,
+				TipoPeca.BISHOP, TipoPeca.KNIGHT, TipoPeca.ROOK };
+		for (int coluna = 0; coluna < 8; coluna++) {
+			TipoPeca tipo = back[coluna];
+			position.put(coluna, code(Cor.PRETO, tipo));
+			position.put(8 + coluna, code(Cor.PRETO, TipoPeca.PAWN));
+			position.put(48 + coluna, code(Cor.BRANCO, TipoPeca.PAWN));
+			position.put(56 + coluna, code(Cor.BRANCO, tipo));
+		}
+		position.setCastlingRights(ALL_CASTLING);
+		return position;
+	}
+
+	public static byte code(Cor cor, TipoPeca tipo) {
+		return (byte) (cor.ordinal() * 6 + tipo.ordinal() + 1);
+	}
+
+	public static Cor cor(byte code) {
+		return CORES[(code - 1) / 6];
+	}
+
+	public static TipoPeca tipo(byte code) {
+		return TIPOS[(code - 1) % 6];
+	}
+
+	public byte pieceAt(int square) {
+		return squares[square];
+	}
+
+	public long[] getBitboards() {
+		return bitboards;
+	}
+
+	public long getOccupancy() {
+		return occupancy[0] | occupancy[1];
+	}
+
+	public long getOccupancy(Cor cor) {
+		return occupancy[cor.ordinal()];
+	}
+
+	public Cor getSideToMove() {
+		return sideToMove;
+	}
+
+	public int getCastlingRights() {
+		return castlingRights;
+	}
+
+	public int getEnPassantSquare() {
+		return epSquare;
+	}
+
+	public int kingSquare(Cor cor) {
+		return kingSquares[cor.ordinal()];
+	}
+
+	public long getKey() {
+		return key;
+	}
+
+	// O listener não é copiado pelo construtor de cópia
+	public void setListener(BoardListener listener) {
+		this.listener = listener;
+	}
+
+	public long getPawnKey() {
+		return pawnKey;
+	}
+
+	public int getMgScore() {
+		return mgScore;
+	}
+
+	public int getEgScore() {
+		return egScore;
+	}
+
+	// Fase de jogo: MAX_PHASE na abertura, 0 com apenas reis e peões
+	public int getPhase() {
+		return Math.min(phase, PieceSquareTables.MAX_PHASE);
+	}
+
+	public int getHalfmoveClock() {
+		return halfmoveClock;
+	}
+
+	void setHalfmoveClock(int halfmoveClock) {
+		this.halfmoveClock = halfmoveClock;
+	}
+
+	public int getPly() {
+		return ply;
+	}
+
+	// Movimentos feitos neste Mailbox, do primeiro ao último; em uma cópia, as entradas
+	// herdadas só com a chave da repetição valem 0
+	public int[] getMoves() {
+		return Arrays.copyOf(moveStack, ply);
+	}
+
+	public int lastMove() {
+		return ply == 0 ? 0 : moveStack[ply - 1];
+	}
+
+	// Corrige a peça de promoção registrada no último movimento
+	void replaceLastMove(int move) {
+		moveStack[ply - 1] = move;
+	}
+
+	void setSideToMove(Cor sideToMove) {
+		this.sideToMove = sideToMove;
+		key = computeKey();
+	}
+
+	void setCastlingRights(int castlingRights) {
+		this.castlingRights = castlingRights;
+		key = computeKey();
+	}
+
+	void setEnPassantSquare(int epSquare) {
+		this.epSquare = epSquare;
+		key = computeKey();
+	}
+
+	// Chave calculada do zero, para conferir a chave incremental
+	public long computeKey() {
+		long k = 0L;
+		for (int sq = 0; sq < 64; sq++) {
+			if (squares[sq] != EMPTY) {
+				k ^= Zobrist.piece(squares[sq], sq);
+			}
+		}
+		k ^= Zobrist.castling(castlingRights);
+		if (epCapturable()) {
+			k ^= Zobrist.enPassant(epSquare);
+		}
+		if (sideToMove == Cor.PRETO) {
+			k ^= Zobrist.blackToMove();
+		}
+		return k;
+	}
+
+	public long computePawnKey() {
+		long k = 0L;
+		for (int sq = 0; sq < 64; sq++) {
+			if (squares[sq] != EMPTY && tipo(squares[sq]) == TipoPeca.PAWN) {
+				k ^= Zobrist.piece(squares[sq], sq);
+			}
+		}
+		return k;
+	}
+
+	// O en passant só entra na chave quando algum peão do jogador da vez pode capturar
+	private boolean epCapturable() {
+		return epSquare >= 0 && (Bitboards.pawnAttacks(opponent(sideToMove), epSquare)
+				& bitboards[sideToMove.ordinal() * 6 + TipoPeca.PAWN.ordinal()]) != 0;
+	}
+
+	// Mesma chave em uma posição anterior com o mesmo jogador da vez; antes do último
+	// lance irreversível nenhuma posição pode se repetir
+	public boolean isRepetition() {
+		int oldest = Math.max(0, ply - halfmoveClock);
+		for (int i = ply - 2; i >= oldest; i -= 2) {
+			if (keyStack[i] == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public long attacksFrom(int square) {
+		byte code = squares[square];
+		if (code == EMPTY) {
+			return 0L;
+		}
+		return tipo(code).attacks(square, getOccupancy(), cor(code));
+	}
+
+	public boolean isSquareAttacked(int square, Cor byColor) {
+		return MoveGenerator.isSquareAttacked(bitboards, square, byColor);
+	}
+
+	// Destinos pseudo-legais da peça na casa: o comportamento vem de TipoPeca, compartilhado
+	// por todas as partidas, e só não se descartam os lances que deixam o próprio rei em cheque
+	public long pieceTargets(int square) {
+		byte code = squares[square];
+		if (code == EMPTY) {
+			return 0L;
+		}
+		Cor cor = cor(code);
+		TipoPeca tipo = tipo(code);
+		long all = getOccupancy();
+		switch (tipo) {
+		case PAWN:
+			return pawnTargets(square, cor, all);
+		case KING:
+			return (Bitboards.kingAttacks(square) & ~occupancy[cor.ordinal()]) | castlingTargets(square, cor, all);
+		default:
+			return tipo.attacks(square, all, cor) & ~occupancy[cor.ordinal()];
+		}
+	}
+
+	// Os mesmos destinos codificados como ChessMove, com promoções, roque e en passant
+	public int pieceMoves(int square, int[] moves, int count) {
+		byte code = squares[square];
+		if (code == EMPTY) {
+			return count;
+		}
+		TipoPeca tipo = tipo(code);
+		long opponent = occupancy[opponent(cor(code)).ordinal()];
+		for (long targets = pieceTargets(square); targets != 0L; targets &= targets - 1) {
+			int to = Long.numberOfTrailingZeros(targets);
+			int flags = ((opponent >>> to) & 1L) != 0 ? ChessMove.CAPTURE : ChessMove.QUIET;
+			if (tipo == TipoPeca.PAWN) {
+				if (to == epSquare && Bitboards.coluna(to) != Bitboards.coluna(square)) {
+					flags = ChessMove.CAPTURE | ChessMove.EN_PASSANT;
+				} else if (to - square == 16 || square - to == 16) {
+					flags = ChessMove.DOUBLE_PUSH;
+				}
+				count = MoveGenerator.addPawnMove(moves, count, square, to, flags);
+				continue;
+			}
+			if (tipo == TipoPeca.KING && (to - square == 2 || square - to == 2)) {
+				flags = ChessMove.CASTLING;
+			}
+			moves[count++] = ChessMove.encode(square, to, flags);
+		}
+		return count;
+	}
+
+	private long pawnTargets(int square, Cor cor, long all) {
+		long attacks = Bitboards.pawnAttacks(cor, square);
+		long targets = attacks & occupancy[opponent(cor).ordinal()];
+		// O en passant só vale para o jogador da vez
+		if (cor == sideToMove && epSquare >= 0) {
+			targets |= attacks & (1L << epSquare);
+		}
+		int forward = (cor == Cor.BRANCO) ? -8 : 8;
+		int one = square + forward;
+		if ((all & (1L << one)) == 0) {
+			targets |= 1L << one;
+			int two = one + forward;
+			if (Bitboards.linha(square) == (cor == Cor.BRANCO ? 6 : 1) && (all & (1L << two)) == 0) {
+				targets |= 1L << two;
+			}
+		}
+		return targets;
+	}
+
+	// Os direitos de roque já garantem rei e torre nas casas iniciais
+	private long castlingTargets(int square, Cor cor, long all) {
+		int kingside = (cor == Cor.BRANCO) ? MoveGenerator.WHITE_KINGSIDE : MoveGenerator.BLACK_KINGSIDE;
+		int queenside = (cor == Cor.BRANCO) ? MoveGenerator.WHITE_QUEENSIDE : MoveGenerator.BLACK_QUEENSIDE;
+		if ((castlingRights & (kingside | queenside)) == 0 || isSquareAttacked(square, opponent(cor))) {
+			return 0L;
+		}
+		long targets = 0L;
+		if ((castlingRights & kingside) != 0 && (all & (3L << (square + 1))) == 0) {
+			targets |= 1L << (square + 2);
+		}
+		if ((castlingRights & queenside) != 0 && (all & (7L << (square - 3))) == 0) {
+			targets |= 1L << (square - 2);
+		}
+		return targets;
+	}
+
+	public int see(int move) {
+		return StaticExchange.see(this, move);
+	}
+
+	int[] swapList() {
+		if (swapList == null) {
+			swapList = new int[StaticExchange.SWAP_LIST];
+		}
+		return swapList;
+	}
+
+	public boolean isInCheck() {
+		return isSquareAttacked(kingSquares[sideToMove.ordinal()], opponent(sideToMove));
+	}
+
+	public int generateLegalMoves(int[] moves) {
+		return MoveGenerator.generate(bitboards, sideToMove, castlingRights, epSquare, moves);
+	}
+
+	public void makeMove(int move) {
+		if (ply == moveStack.length) {
+			moveStack = Arrays.copyOf(moveStack, ply * 2);
+			stateStack = Arrays.copyOf(stateStack, ply * 2);
+			keyStack = Arrays.copyOf(keyStack, ply * 2);
+		}
+		int from = ChessMove.from(move);
+		int to = ChessMove.to(move);
+		byte piece = squares[from];
+		int forward = (sideToMove == Cor.BRANCO) ? -8 : 8;
+
+		int capturedSq = ChessMove.isEnPassant(move) ? to - forward : to;
+		byte captured = squares[capturedSq];
+
+		moveStack[ply] = move;
+		stateStack[ply] = captured | (castlingRights << 4) | ((epSquare + 1) << 8) | (halfmoveClock << 15);
+		keyStack[ply] = key;
+		ply++;
+		if (epCapturable()) {
+			key ^= Zobrist.enPassant(epSquare);
+		}
+		key ^= Zobrist.castling(castlingRights);
+
+		if (captured != EMPTY) {
+			clear(capturedSq);
+		}
+		clear(from);
+		put(to, ChessMove.isPromotion(move) ? code(sideToMove, ChessMove.promotion(move)) : piece);
+
+		// Movimento especial castling: a torre acompanha o rei
+		if (ChessMove.isCastling(move)) {
+			if (to > from) {
+				put(from + 1, squares[from + 3]);
+				clear(from + 3);
+			} else {
+				put(from - 1, squares[from - 4]);
+				clear(from - 4);
+			}
+		}
+
+		castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+		epSquare = ((move >>> 12) & ChessMove.DOUBLE_PUSH) != 0 ? from + forward : -1;
+		halfmoveClock = (captured != EMPTY || tipo(piece) == TipoPeca.PAWN) ? 0 : halfmoveClock + 1;
+		sideToMove = opponent(sideToMove);
+		key ^= Zobrist.castling(castlingRights) ^ Zobrist.blackToMove();
+		if (epCapturable()) {
+			key ^= Zobrist.enPassant(epSquare);
+		}
+	}
+
+	public void unmakeMove() {
+		ply--;
+		int move = moveStack[ply];
+		int state = stateStack[ply];
+		sideToMove = opponent(sideToMove);
+		castlingRights = (state >>> 4) & 0xF;
+		epSquare = ((state >>> 8) & 0x7F) - 1;
+		halfmoveClock = state >>> 15;
+
+		int from = ChessMove.from(move);
+		int to = ChessMove.to(move);
+		byte piece = ChessMove.isPromotion(move) ? code(sideToMove, TipoPeca.PAWN) : squares[to];
+		byte captured = (byte) (state & 0xF);
+
+		if (ChessMove.isCastling(move)) {
+			if (to > from) {
+				put(from + 3, squares[from + 1]);
+				clear(from + 1);
+			} else {
+				put(from - 4, squares[from - 1]);
+				clear(from - 1);
+			}
+		}
+
+		clear(to);
+		put(from, piece);
+		if (captured != EMPTY) {
+			int forward = (sideToMove == Cor.BRANCO) ? -8 : 8;
+			put(ChessMove.isEnPassant(move) ? to - forward : to, captured);
+		}
+		key = keyStack[ply];
+	}
+
+	// Troca a peça de uma casa, usado quando o jogador escolhe a peça da promoção
+	void replacePiece(int square, byte code) {
+		clear(square);
+		put(square, code);
+	}
+
+	void put(int square, byte code) {
+		squares[square] = code;
+		bitboards[code - 1] |= 1L << square;
+		occupancy[(code - 1) / 6] |= 1L << square;
+		key ^= Zobrist.piece(code, square);
+		mgScore += PieceSquareTables.mg(code, square);
+		egScore += PieceSquareTables.eg(code, square);
+		phase += PieceSquareTables.phase(code);
+		if ((code - 1) % 6 == TipoPeca.KING.ordinal()) {
+			kingSquares[(code - 1) / 6] = square;
+		} else if ((code - 1) % 6 == TipoPeca.PAWN.ordinal()) {
+			pawnKey ^= Zobrist.piece(code, square);
+		}
+		if (listener != null) {
+			listener.pieceAdded(square, code);
+		}
+	}
+
+	void clear(int square) {
+		byte code = squares[square];
+		if (code != EMPTY) {
+			bitboards[code - 1] &= ~(1L << square);
+			occupancy[(code - 1) / 6] &= ~(1L << square);
+			squares[square] = EMPTY;
+			key ^= Zobrist.piece(code, square);
+			mgScore -= PieceSquareTables.mg(code, square);
+			egScore -= PieceSquareTables.eg(code, square);
+			phase -= PieceSquareTables.phase(code);
+			if ((code - 1) % 6 == TipoPeca.PAWN.ordinal()) {
+				pawnKey ^= Zobrist.piece(code, square);
+			}
+			if (listener != null) {
+				listener.pieceRemoved(square, code);
+			}
+		}
+	}
+
+	private static Cor opponent(Cor cor) {
+		return (cor == Cor.BRANCO) ? Cor.PRETO : Cor.BRANCO;
+	}
+}
@@ -0,0 +1,201 @@
+package xadrez;
+
+public final class MoveGenerator {
+
+	public static final int WHITE_KINGSIDE = 1;
+	public static final int WHITE_QUEENSIDE = 2;
+	public static final int BLACK_KINGSIDE = 4;
+	public static final int BLACK_QUEENSIDE = 8;
+
+	private static final TipoPeca[] TIPOS = TipoPeca.values();
+
+	private static final int PAWN = TipoPeca.PAWN.ordinal();
+	private static final int KNIGHT = TipoPeca.KNIGHT.ordinal();
+	private static final int BISHOP = TipoPeca.BISHOP.ordinal();
+	private static final int ROOK = TipoPeca.ROOK.ordinal();
+	private static final int QUEEN = TipoPeca.QUEEN.ordinal();
+	private static final int KING = TipoPeca.KING.ordinal();
+
+	private MoveGenerator() {
+	}
+
+	/*
+	 * Gera apenas movimentos legais para "cor". bitboards segue o índice de
+	 * TabuleiroBitboard.index(cor, tipo); epSquare é a casa de destino da captura
+	 * en passant, ou -1.
+	 */
+	public static int generate(long[] bitboards, Cor cor, int castlingRights, int epSquare, int[] moves) {
+		Cor them = (cor == Cor.BRANCO) ? Cor.PRETO : Cor.BRANCO;
+		int us6 = cor.ordinal() * 6;
+		int them6 = them.ordinal() * 6;
+
+		long own = 0L;
+		long opponent = 0L;
+		for (int i = 0; i < 6; i++) {
+			own |= bitboards[us6 + i];
+			opponent |= bitboards[them6 + i];
+		}
+		long all = own | opponent;
+
+		int kingSq = Long.numberOfTrailingZeros(bitboards[us6 + KING]);
+		long kingBit = 1L << kingSq;
+		int count = 0;
+
+		// Rei: a casa de destino não pode ser atacada com o rei fora da ocupação
+		long kingTargets = Bitboards.kingAttacks(kingSq) & ~own;
+		while (kingTargets != 0L) {
+			int to = Long.numberOfTrailingZeros(kingTargets);
+			kingTargets &= kingTargets - 1;
+			if (attackers(bitboards, to, all ^ kingBit, cor, them6) == 0L) {
+				moves[count++] = ChessMove.encode(kingSq, to, ((opponent >>> to) & 1L) != 0 ? ChessMove.CAPTURE : ChessMove.QUIET);
+			}
+		}
+
+		long checkers = attackers(bitboards, kingSq, all, cor, them6);
+		if (Long.bitCount(checkers) > 1) {
+			return count;
+		}
+
+		// Em cheque simples só vale capturar o atacante ou bloquear o raio
+		long checkMask = -1L;
+		if (checkers != 0L) {
+			checkMask = checkers | Bitboards.between(kingSq, Long.numberOfTrailingZeros(checkers));
+		}
+
+		// Peças cravadas: um único bloqueio próprio entre o rei e um atacante deslizante
+		long pinned = 0L;
+		long snipers = (Magics.rookAttacks(kingSq, opponent) & (bitboards[them6 + ROOK] | bitboards[them6 + QUEEN]))
+				| (Magics.bishopAttacks(kingSq, opponent) & (bitboards[them6 + BISHOP] | bitboards[them6 + QUEEN]));
+		while (snipers != 0L) {
+			int sniper = Long.numberOfTrailingZeros(snipers);
+			snipers &= snipers - 1;
+			long blockers = Bitboards.between(kingSq, sniper) & all;
+			if (Long.bitCount(blockers) == 1) {
+				pinned |= blockers & own;
+			}
+		}
+
+		long targetMask = ~own & checkMask;
+
+		for (int tipo = KNIGHT; tipo <= QUEEN; tipo++) {
+			long pieces = bitboards[us6 + tipo];
+			if (tipo == KNIGHT) {
+				pieces &= ~pinned;
+			}
+			while (pieces != 0L) {
+				int from = Long.numberOfTrailingZeros(pieces);
+				pieces &= pieces - 1;
+				long targets = TIPOS[tipo].attacks(from, all, cor);
+				targets &= targetMask;
+				if (((pinned >>> from) & 1L) != 0) {
+					targets &= Bitboards.line(kingSq, from);
+				}
+				while (targets != 0L) {
+					int to = Long.numberOfTrailingZeros(targets);
+					targets &= targets - 1;
+					moves[count++] = ChessMove.encode(from, to, ((opponent >>> to) & 1L) != 0 ? ChessMove.CAPTURE : ChessMove.QUIET);
+				}
+			}
+		}
+
+		count = pawnMoves(bitboards, cor, us6, them6, all, opponent, kingSq, pinned, checkMask, epSquare, moves, count);
+
+		// Movimento especial castling
+		if (checkers == 0L) {
+			int kingside = (cor == Cor.BRANCO) ? WHITE_KINGSIDE : BLACK_KINGSIDE;
+			int queenside = (cor == Cor.BRANCO) ? WHITE_QUEENSIDE : BLACK_QUEENSIDE;
+			if ((castlingRights & kingside) != 0 && (all & ((1L << (kingSq + 1)) | (1L << (kingSq + 2)))) == 0
+					&& attackers(bitboards, kingSq + 1, all, cor, them6) == 0L
+					&& attackers(bitboards, kingSq + 2, all, cor, them6) == 0L) {
+				moves[count++] = ChessMove.encode(kingSq, kingSq + 2, ChessMove.CASTLING);
+			}
+			if ((castlingRights & queenside) != 0
+					&& (all & ((1L << (kingSq - 1)) | (1L << (kingSq - 2)) | (1L << (kingSq - 3)))) == 0
+					&& attackers(bitboards, kingSq - 1, all, cor, them6) == 0L
+					&& attackers(bitboards, kingSq - 2, all, cor, them6) == 0L) {
+				moves[count++] = ChessMove.encode(kingSq, kingSq - 2, ChessMove.CASTLING);
+			}
+		}
+
+		return count;
+	}
+
+	// Olha a partir da casa: raios, saltos de cavalo e diagonais de peão
+	public static boolean isSquareAttacked(long[] bitboards, int square, Cor byColor) {
+		Cor cor = (byColor == Cor.BRANCO) ? Cor.PRETO : Cor.BRANCO;
+		long all = 0L;
+		for (int i = 0; i < 12; i++) {
+			all |= bitboards[i];
+		}
+		return attackers(bitboards, square, all, cor, byColor.ordinal() * 6) != 0L;
+	}
+
+	private static int pawnMoves(long[] bitboards, Cor cor, int us6, int them6, long all, long opponent, int kingSq,
+			long pinned, long checkMask, int epSquare, int[] moves, int count) {
+		int forward = (cor == Cor.BRANCO) ? -8 : 8;
+		int startLinha = (cor == Cor.BRANCO) ? 6 : 1;
+		long pawns = bitboards[us6 + PAWN];
+		while (pawns != 0L) {
+			int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			long allowed = checkMask;
+			if (((pinned >>> from) & 1L) != 0) {
+				allowed &= Bitboards.line(kingSq, from);
+			}
+
+			long captures = Bitboards.pawnAttacks(cor, from) & opponent & allowed;
+			while (captures != 0L) {
+				int to = Long.numberOfTrailingZeros(captures);
+				captures &= captures - 1;
+				count = addPawnMove(moves, count, from, to, ChessMove.CAPTURE);
+			}
+
+			int one = from + forward;
+			if ((all & (1L << one)) == 0) {
+				if ((allowed & (1L << one)) != 0) {
+					count = addPawnMove(moves, count, from, one, ChessMove.QUIET);
+				}
+				int two = one + forward;
+				if (Bitboards.linha(from) == startLinha && (all & (1L << two)) == 0 && (allowed & (1L << two)) != 0) {
+					moves[count++] = ChessMove.encode(from, two, ChessMove.DOUBLE_PUSH);
+				}
+			}
+
+			// Movimento especial en passant: testado com a ocupação resultante
+			if (epSquare >= 0 && (Bitboards.pawnAttacks(cor, from) & (1L << epSquare)) != 0) {
+				int capturedSq = epSquare - forward;
+				long occupancy = (all ^ (1L << from) ^ (1L << capturedSq)) | (1L << epSquare);
+				long theirPawn = bitboards[them6 + PAWN];
+				bitboards[them6 + PAWN] = theirPawn ^ (1L << capturedSq);
+				boolean legal = attackers(bitboards, kingSq, occupancy, cor, them6) == 0L;
+				bitboards[them6 + PAWN] = theirPawn;
+				if (legal) {
+					moves[count++] = ChessMove.encode(from, epSquare, ChessMove.CAPTURE | ChessMove.EN_PASSANT);
+				}
+			}
+		}
+		return count;
+	}
+
+	static int addPawnMove(int[] moves, int count, int from, int to, int flags) {
+		int linha = Bitboards.linha(to);
+		if (linha == 0 || linha == 7) {
+			moves[count++] = ChessMove.encode(from, to, flags, TipoPeca.QUEEN);
+			moves[count++] = ChessMove.encode(from, to, flags, TipoPeca.ROOK);
+			moves[count++] = ChessMove.encode(from, to, flags, TipoPeca.BISHOP);
+			moves[count++] = ChessMove.encode(from, to, flags, TipoPeca.KNIGHT);
+		} else {
+			moves[count++] = ChessMove.encode(from, to, flags);
+		}
+		return count;
+	}
+
+	// Peças de "them" que atacam a casa, com a ocupação informada
+	private static long attackers(long[] bitboards, int sq, long occupancy, Cor cor, int them6) {
+		return (Bitboards.pawnAttacks(cor, sq) & bitboards[them6 + PAWN])
+				| (Bitboards.knightAttacks(sq) & bitboards[them6 + KNIGHT])
+				| (Bitboards.kingAttacks(sq) & bitboards[them6 + KING])
+				| (Magics.bishopAttacks(sq, occupancy) & (bitboards[them6 + BISHOP] | bitboards[them6 + QUEEN]))
+				| (Magics.rookAttacks(sq, occupancy) & (bitboards[them6 + ROOK] | bitboards[them6 + QUEEN]));
+	}
+}
@@ -1,13 +1,8 @@
 package xadrez;
 
 import java.security.InvalidParameterException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
 
-import tabuleiro.Peca;
-import tabuleiro.Posicao;
-import tabuleiro.Tabuleiro;
+import metrics.Metrics;
 import xadrez.pecas.Bishop;
 import xadrez.pecas.King;
 import xadrez.pecas.Knight;
@@ -15,25 +10,52 @@ import xadrez.pecas.Pawn;
 import xadrez.pecas.Queen;
 import xadrez.pecas.Rook;
 
+// O estado da partida é só o Mailbox: casas, roque, en passant e a pilha de lances.
+// Objetos PecaXadrez são vistas criadas na fronteira da API (getPecas, captura, promoção)
 public class PartidaXadrez {
 
+	// Buffer de geração compartilhado pelas partidas da mesma thread; cada partida guarda só os lances legais
+	private static final ThreadLocal<int[]> MOVE_BUFFER = ThreadLocal.withInitial(() -> new int[ChessMove.MAX_MOVES]);
+
 	private int turn;
 	private Cor currentPlayer;
-	private Tabuleiro board;
 	private boolean check;
 	private boolean checkMate;
-	private PecaXadrez enPassantVulnerable;
-	private PecaXadrez promoted;
+	private boolean stalemate;
+	// Casa da peça promovida no último lance, -1 quando não houve promoção
+	private int promotedSquare = -1;
 
-	private List<Peca> piecesOnTheBoard = new ArrayList<>();
-	private List<Peca> capturedPieces = new ArrayList<>();
+	private Mailbox position;
+	// Movimentos legais do jogador da vez; legalMoveCount < 0 indica cache inválido.
+	// Cresce até o maior número de lances já visto na partida
+	private int[] legalMoves = new int[32];
+	private int legalMoveCount = -1;
 
 	public PartidaXadrez() {
-		board = new Tabuleiro(8, 8);
 		turn = 1;
 		currentPlayer = Cor.BRANCO;
 		check = false;
-		initialSetup();
+		position = Mailbox.initialPosition();
+	}
+
+	// Partida a partir do retrato; o histórico começa vazio
+	private PartidaXadrez(Position snapshot) {
+		turn = snapshot.getTurn();
+		check = snapshot.getCheck();
+		checkMate = snapshot.getCheckMate();
+		stalemate = snapshot.getStalemate();
+		// Em mate ou afogamento o turno não passa para o adversário
+		currentPlayer = (checkMate || stalemate) ? opponent(snapshot.getSideToMove()) : snapshot.getSideToMove();
+		position = snapshot.toMailbox();
+	}
+
+	public static PartidaXadrez fromSnapshot(Position snapshot) {
+		return new PartidaXadrez(snapshot);
+	}
+
+	// Retrato imutável do estado atual, seguro para entregar a outras threads
+	public Position snapshot() {
+		return position.snapshot(turn, check, checkMate, stalemate);
 	}
 
 	public int getTurn() {
@@ -52,207 +74,312 @@ public class PartidaXadrez {
 		return checkMate;
 	}
 
+	public boolean getStalemate() {
+		return stalemate;
+	}
+
+	// Peão que acabou de avançar duas casas, capturável en passant pelo jogador da vez
 	public PecaXadrez getEnPassantVulnerable() {
-		return enPassantVulnerable;
+		int epSquare = position.getEnPassantSquare();
+		if (epSquare < 0) {
+			return null;
+		}
+		return view(epSquare + (position.getSideToMove() == Cor.BRANCO ? 8 : -8));
 	}
 
 	public PecaXadrez getPromoted() {
-		return promoted;
+		return promotedSquare < 0 ? null : view(promotedSquare);
 	}
 
 	public PecaXadrez[][] getPecas() {
-		PecaXadrez[][] mat = new PecaXadrez[board.getLinhas()][board.getColunas()];
-		for (int i = 0; i < board.getLinhas(); i++) {
-			for (int j = 0; j < board.getColunas(); j++) {
-				mat[i][j] = (PecaXadrez) board.peca(i, j);
-			}
+		PecaXadrez[][] mat = new PecaXadrez[8][8];
+		for (long pieces = position.getOccupancy(); pieces != 0L; pieces &= pieces - 1) {
+			int sq = Long.numberOfTrailingZeros(pieces);
+			mat[Bitboards.linha(sq)][Bitboards.coluna(sq)] = view(sq);
 		}
 		return mat;
 	}
 
 	public boolean[][] possibleMoves(ChessPosition sourcePosition) {
-		Posicao posicao = sourcePosition.toPosition();
-		validateSourcePosition(posicao);
-		return board.peca(posicao).possibleMoves();
+		int from = sourcePosition.toSquare();
+		validateSourcePosition(from);
+		long targets = 0L;
+		for (int i = 0; i < legalMoveCount; i++) {
+			if (ChessMove.from(legalMoves[i]) == from) {
+				targets |= 1L << ChessMove.to(legalMoves[i]);
+			}
+		}
+		return Bitboards.toMatrix(targets);
+	}
+
+	// Movimentos pseudo-legais do jogador da vez, por tipo de peça
+	public int generateMoves(int[] moves) {
+		long[] bitboards = position.getBitboards();
+		int side6 = currentPlayer.ordinal() * 6;
+		int count = 0;
+		for (int tipo = 0; tipo < 6; tipo++) {
+			for (long pieces = bitboards[side6 + tipo]; pieces != 0L; pieces &= pieces - 1) {
+				count = position.pieceMoves(Long.numberOfTrailingZeros(pieces), moves, count);
+			}
+		}
+		return count;
+	}
+
+	// Cópia independente da posição atual, para busca e análise
+	public Mailbox copyPosition() {
+		return new Mailbox(position);
+	}
+
+	public long getZobristKey() {
+		return position.getKey();
+	}
+
+	public long computeZobristKey() {
+		return position.computeKey();
+	}
+
+	// Acompanha as peças colocadas e retiradas pela partida, inclusive em movimentos desfeitos
+	public void setBoardListener(BoardListener listener) {
+		position.setListener(listener);
+	}
+
+	public long getPawnKey() {
+		return position.getPawnKey();
+	}
+
+	// Resultado material da troca iniciada pelo movimento, sem alterar o tabuleiro
+	public int see(int move) {
+		return position.see(move);
+	}
+
+	public Threats threats(Cor cor) {
+		return StaticExchange.threats(position, cor);
+	}
+
+	public boolean isSquareAttacked(int square, Cor byColor) {
+		return position.isSquareAttacked(square, byColor);
+	}
+
+	public int legalMoves(int[] moves) {
+		ensureLegalMoves();
+		System.arraycopy(legalMoves, 0, moves, 0, legalMoveCount);
+		return legalMoveCount;
 	}
 
 	public PecaXadrez performChessMove(ChessPosition sourcePosition, ChessPosition targetPosition) {
-		Posicao source = sourcePosition.toPosition();
-		Posicao target = targetPosition.toPosition();
+		int source = sourcePosition.toSquare();
+		int target = targetPosition.toSquare();
+		boolean timed = Metrics.isEnabled();
+		long start = timed ? System.nanoTime() : 0L;
 		validateSourcePosition(source);
-		validateTargetPosition(source, target);
-		Peca capturedPiece = makeMove(source, target);
+		// Na promoção o primeiro lance encontrado é o de dama; replacePromotedPiece troca depois
+		int move = validateTargetPosition(source, target);
+		PecaXadrez capturedPiece = makeMove(move);
+		if (timed) {
+			ChessMetrics.get().performChessMove.record(System.nanoTime() - start);
+		}
+		return capturedPiece;
+	}
 
-		if (testCheck(currentPlayer)) {
-			undoMove(source, target, capturedPiece);
-			throw new ChessException("Você não pode se colocar em cheque");
+	// Joga um lance legal codificado por ChessMove; pode ser desfeito com unmakeMove
+	public PecaXadrez makeMove(int move) {
+		boolean timed = Metrics.isEnabled();
+		long start = timed ? System.nanoTime() : 0L;
+		if (!isLegal(move)) {
+			throw rejected("illegalMove", "Movimento ilegal: " + ChessMove.toString(move));
 		}
+		int to = ChessMove.to(move);
+		int capturedSquare = ChessMove.isEnPassant(move) ? ChessMove.from(move) / 8 * 8 + Bitboards.coluna(to) : to;
+		byte captured = position.pieceAt(capturedSquare);
 
-		PecaXadrez movedPiece = (PecaXadrez) board.peca(target);
+		position.makeMove(move);
+		// Movimento especial promoção: o Mailbox já tem a dama, replacePromotedPiece pode trocar
+		promotedSquare = ChessMove.isPromotion(move) ? to : -1;
 
-		// Movimento especial promoção
-		promoted = null;
-		if (movedPiece instanceof Pawn) {
-			if ((movedPiece.getCor() == Cor.BRANCO && target.getLinha() == 0)
-					|| (movedPiece.getCor() == Cor.PRETO && target.getLinha() == 7)) {
-				promoted = (PecaXadrez) board.peca(target);
-				promoted = replacePromotedPiece("Q");
-			}
-		}
+		finishMove();
 
-		check = (testCheck(opponent(currentPlayer))) ? true : false;
+		if (timed) {
+			ChessMetrics metrics = ChessMetrics.get();
+			metrics.make.increment();
+			metrics.makeMove.record(System.nanoTime() - start);
+		}
+		return captured == Mailbox.EMPTY ? null : newPiece(Mailbox.tipo(captured), Mailbox.cor(captured));
+	}
 
-		if (testCheckMate(opponent(currentPlayer))) {
-			checkMate = true;
+	// Fecha o lance do jogador da vez: cheque no adversário e os movimentos legais dele,
+	// que viram o cache do próximo turno. Sem movimentos legais: cheque-mate se estiver
+	// em cheque, senão afogamento, e o turno não passa
+	private void finishMove() {
+		check = testCheck(opponent(currentPlayer));
+		if (Metrics.isEnabled()) {
+			ChessMetrics.get().testCheckMate.increment();
+		}
+		legalMoveCount = generateLegalMoves();
+		if (legalMoveCount == 0) {
+			if (check) {
+				checkMate = true;
+			} else {
+				stalemate = true;
+			}
+			legalMoveCount = -1;
 		} else {
 			nextTurn();
 		}
+	}
+
+	// Desfaz o último lance, inclusive promoções já trocadas por replacePromotedPiece
+	public void unmakeMove() {
+		if (position.getPly() == 0) {
+			throw new IllegalStateException("Não há movimentos para desfazer");
+		}
+		if (Metrics.isEnabled()) {
+			ChessMetrics.get().undo.increment();
+		}
 
-		// Movimento especial en Passant
-		if (movedPiece instanceof Pawn
-				&& (target.getLinha() == source.getLinha() - 2 || target.getLinha() == source.getLinha() + 2)) {
-			enPassantVulnerable = movedPiece;
-		} else {
-			enPassantVulnerable = null;
+		// Sem mate nem afogamento o turno tinha passado para o adversário
+		if (!checkMate && !stalemate) {
+			turn--;
+			currentPlayer = opponent(currentPlayer);
 		}
+		checkMate = false;
+		stalemate = false;
+
+		position.unmakeMove();
+		int last = position.lastMove();
+		promotedSquare = last != 0 && ChessMove.isPromotion(last) ? ChessMove.to(last) : -1;
+		check = position.isInCheck();
+		legalMoveCount = -1;
+	}
 
-		return (PecaXadrez) capturedPiece;
+	public int getHalfmoveClock() {
+		return position.getHalfmoveClock();
+	}
+
+	// Lances jogados desde o início, do primeiro ao último
+	public int[] getMoveHistory() {
+		return position.getMoves();
 	}
 
 	public PecaXadrez replacePromotedPiece(String type) {
-		if (promoted == null) {
+		if (promotedSquare < 0) {
 			throw new IllegalStateException("Não há peça para ser promovida");
 		}
-		if(!type.equals("B") && !type.equals("N") && !type.equals("R") && !type.equals("R")) {
+		if(!type.equals("B") && !type.equals("N") && !type.equals("R") && !type.equals("Q")) {
 			//throw new InvalidParameterException("Tipo invalido para promoção");
-			return promoted;
-		}
-		
-		Posicao pos = promoted.getChessPosition().toPosition();
-		Peca p = board.removePiece(pos);
-		piecesOnTheBoard.remove(p);
-		
-		PecaXadrez newPiece = newPiece(type, promoted.getCor());
-		board.placePiece(newPiece, pos);
-		piecesOnTheBoard.add(newPiece);
-		
-		return newPiece;
-	}
-
-	private PecaXadrez newPiece(String type, Cor cor) {
-		if(type.equals("B")) return new Bishop(board, cor);
-		if(type.equals("N")) return new Knight(board, cor);
-		if(type.equals("Q")) return new Queen(board, cor);
-		return new Rook(board, cor);
-	}
-	
-	private Peca makeMove(Posicao source, Posicao target) {
-		PecaXadrez p = (PecaXadrez) board.removePiece(source);
-		p.increaseMoveCount();
-		Peca capturedPiece = board.removePiece(target);
-		board.placePiece(p, target);
-
-		if (capturedPiece != null) {
-			piecesOnTheBoard.remove(capturedPiece);
-			capturedPieces.add(capturedPiece);
-		}
-
-		// Movimento especial castling kingside rook
-		if (p instanceof King && target.getColuna() == source.getColuna() + 2) {
-			Posicao sourceT = new Posicao(source.getLinha(), source.getColuna() + 3);
-			Posicao targetT = new Posicao(source.getLinha(), source.getColuna() + 1);
-			PecaXadrez rook = (PecaXadrez) board.removePiece(sourceT);
-			board.placePiece(rook, targetT);
-			rook.increaseMoveCount();
+			return getPromoted();
 		}
 
-		// Movimento especial castling queenside rook
-		if (p instanceof King && target.getColuna() == source.getColuna() - 2) {
-			Posicao sourceT = new Posicao(source.getLinha(), source.getColuna() - 4);
-			Posicao targetT = new Posicao(source.getLinha(), source.getColuna() - 1);
-			PecaXadrez rook = (PecaXadrez) board.removePiece(sourceT);
-			board.placePiece(rook, targetT);
-			rook.increaseMoveCount();
+		Cor cor = Mailbox.cor(position.pieceAt(promotedSquare));
+		TipoPeca tipo = tipo(type);
+		position.replacePiece(promotedSquare, Mailbox.code(cor, tipo));
+		// O histórico passa a registrar a peça escolhida
+		int last = position.lastMove();
+		position.replaceLastMove(ChessMove.encode(ChessMove.from(last), ChessMove.to(last), ChessMove.flags(last), tipo));
+		// O fim do lance foi decidido com a dama; volta o turno para quem promoveu e decide de novo
+		if (!checkMate && !stalemate) {
+			turn--;
+			currentPlayer = opponent(currentPlayer);
 		}
+		checkMate = false;
+		stalemate = false;
+		finishMove();
 
-		// Movimento especial en passant
-		if (p instanceof Pawn) {
-			if (source.getColuna() != target.getColuna() && capturedPiece == null) {
-				Posicao pawnPosition;
-				if (p.getCor() == Cor.BRANCO) {
-					pawnPosition = new Posicao(target.getLinha() + 1, target.getColuna());
-				} else {
-					pawnPosition = new Posicao(target.getLinha() - 1, target.getColuna());
-				}
-				capturedPiece = board.removePiece(pawnPosition);
-				capturedPieces.add(capturedPiece);
-				piecesOnTheBoard.remove(capturedPiece);
-			}
-		}
-
-		return capturedPiece;
+		return getPromoted();
 	}
 
-	private void undoMove(Posicao source, Posicao target, Peca capturedPiece) {
-		PecaXadrez p = (PecaXadrez) board.removePiece(target);
-		p.decreaseMoveCount();
-		board.placePiece(p, source);
-
-		if (capturedPiece != null) {
-			board.placePiece(capturedPiece, target);
-			capturedPieces.remove(capturedPiece);
-			piecesOnTheBoard.add(capturedPiece);
-		}
+	private static TipoPeca tipo(String type) {
+		if(type.equals("B")) return TipoPeca.BISHOP;
+		if(type.equals("N")) return TipoPeca.KNIGHT;
+		if(type.equals("Q")) return TipoPeca.QUEEN;
+		return TipoPeca.ROOK;
+	}
 
-		// Movimento especial castling kingside rook Undo
-		if (p instanceof King && target.getColuna() == source.getColuna() + 2) {
-			Posicao sourceT = new Posicao(source.getLinha(), source.getColuna() + 3);
-			Posicao targetT = new Posicao(source.getLinha(), source.getColuna() + 1);
-			PecaXadrez rook = (PecaXadrez) board.removePiece(targetT);
-			board.placePiece(rook, sourceT);
-			rook.decreaseMoveCount();
+	// Vista da peça na casa, ligada à posição da partida
+	private PecaXadrez view(int square) {
+		byte code = position.pieceAt(square);
+		if (code == Mailbox.EMPTY) {
+			return null;
 		}
+		PecaXadrez peca = newPiece(Mailbox.tipo(code), Mailbox.cor(code));
+		peca.bind(position, square, hasMoved(code, square, position.getCastlingRights()) ? 1 : 0);
+		return peca;
+	}
 
-		// Movimento especial castling queenside rook Undo
-		if (p instanceof King && target.getColuna() == source.getColuna() - 2) {
-			Posicao sourceT = new Posicao(source.getLinha(), source.getColuna() - 4);
-			Posicao targetT = new Posicao(source.getLinha(), source.getColuna() - 1);
-			PecaXadrez rook = (PecaXadrez) board.removePiece(targetT);
-			board.placePiece(rook, sourceT);
-			rook.decreaseMoveCount();
+	private static PecaXadrez newPiece(TipoPeca tipo, Cor cor) {
+		switch (tipo) {
+		case PAWN:
+			return new Pawn(cor);
+		case KNIGHT:
+			return new Knight(cor);
+		case BISHOP:
+			return new Bishop(cor);
+		case ROOK:
+			return new Rook(cor);
+		case QUEEN:
+			return new Queen(cor);
+		default:
+			return new King(cor);
 		}
+	}
 
-		// Movimento especial en passant Undo
-		if (p instanceof Pawn) {
-			if (source.getColuna() != target.getColuna() && capturedPiece == enPassantVulnerable) {
-				PecaXadrez pawn = (PecaXadrez) board.removePiece(target);
-				Posicao pawnPosition;
-				if (p.getCor() == Cor.BRANCO) {
-					pawnPosition = new Posicao(3, target.getColuna());
-				} else {
-					pawnPosition = new Posicao(4, target.getColuna());
-				}
-				board.placePiece(pawn, pawnPosition);
+	// O Mailbox só guarda os direitos de roque; a contagem de movimentos das vistas
+	// é deduzida deles e da linha inicial dos peões
+	private static boolean hasMoved(byte code, int sq, int castlingRights) {
+		boolean white = Mailbox.cor(code) == Cor.BRANCO;
+		switch (Mailbox.tipo(code)) {
+		case PAWN:
+			return Bitboards.linha(sq) != (white ? 6 : 1);
+		case KING:
+			return (castlingRights & (white ? MoveGenerator.WHITE_KINGSIDE | MoveGenerator.WHITE_QUEENSIDE
+					: MoveGenerator.BLACK_KINGSIDE | MoveGenerator.BLACK_QUEENSIDE)) == 0;
+		case ROOK:
+			if (sq == (white ? 63 : 7)) {
+				return (castlingRights & (white ? MoveGenerator.WHITE_KINGSIDE : MoveGenerator.BLACK_KINGSIDE)) == 0;
+			}
+			if (sq == (white ? 56 : 0)) {
+				return (castlingRights & (white ? MoveGenerator.WHITE_QUEENSIDE : MoveGenerator.BLACK_QUEENSIDE)) == 0;
 			}
+			return true;
+		default:
+			return false;
 		}
 	}
 
-	private void validateSourcePosition(Posicao posicao) {
-		if (!board.thereIsAPiece(posicao)) {
-			throw new ChessException("Não há posição no tabuleiro");
+	private void validateSourcePosition(int square) {
+		byte code = position.pieceAt(square);
+		if (code == Mailbox.EMPTY) {
+			throw rejected("noPiece", "Não há posição no tabuleiro");
 		}
-		if (currentPlayer != ((PecaXadrez) board.peca(posicao)).getCor()) {
-			throw new ChessException("A peça escolhida não é sua.");
+		if (currentPlayer != Mailbox.cor(code)) {
+			throw rejected("notYourPiece", "A peça escolhida não é sua.");
 		}
-		if (!board.peca(posicao).isThereAnyPossibleMove()) {
-			throw new ChessException("Não há movimentos possiveis para a peça escolhida.");
+		ensureLegalMoves();
+		for (int i = 0; i < legalMoveCount; i++) {
+			if (ChessMove.from(legalMoves[i]) == square) {
+				return;
+			}
 		}
+		throw rejected("noPossibleMoves", "Não há movimentos possiveis para a peça escolhida.");
 	}
 
-	private void validateTargetPosition(Posicao source, Posicao target) {
-		if (!board.peca(source).possibleMove(target)) {
-			throw new ChessException("A peça escolhida não pode se mover para a posição ed destino.");
+	private int validateTargetPosition(int from, int to) {
+		ensureLegalMoves();
+		for (int i = 0; i < legalMoveCount; i++) {
+			if (ChessMove.from(legalMoves[i]) == from && ChessMove.to(legalMoves[i]) == to) {
+				return legalMoves[i];
+			}
 		}
+		// Destino possível para a peça, mas deixaria o próprio rei em cheque
+		if ((position.pieceTargets(from) & (1L << to)) != 0) {
+			throw rejected("selfCheck", "Você não pode se colocar em cheque");
+		}
+		throw rejected("illegalTarget", "A peça escolhida não pode se mover para a posição ed destino.");
+	}
+
+	// Conta o motivo da rejeição quando as métricas estão ligadas
+	private static ChessException rejected(String reason, String message) {
+		ChessMetrics.rejected(reason);
+		return new ChessException(message);
 	}
 
 	private void nextTurn() {
@@ -264,95 +391,39 @@ public class PartidaXadrez {
 		return (cor == Cor.BRANCO) ? Cor.PRETO : Cor.BRANCO;
 	}
 
-	private PecaXadrez king(Cor cor) {
-		List<Peca> list = piecesOnTheBoard.stream().filter(x -> ((PecaXadrez) x).getCor() == cor)
-				.collect(Collectors.toList());
-		for (Peca p : list) {
-			if (p instanceof King) {
-				return (PecaXadrez) p;
-			}
+	private boolean testCheck(Cor cor) {
+		if (Metrics.isEnabled()) {
+			ChessMetrics.get().testCheck.increment();
 		}
-		throw new IllegalStateException("Não há nenhum rei " + cor + " no tabuleiro");
+		return position.isSquareAttacked(position.kingSquare(cor), opponent(cor));
 	}
 
-	private boolean testCheck(Cor cor) {
-		Posicao kingPosition = king(cor).getChessPosition().toPosition();
-		List<Peca> opponentPieces = piecesOnTheBoard.stream().filter(x -> ((PecaXadrez) x).getCor() == opponent(cor))
-				.collect(Collectors.toList());
-
-		for (Peca p : opponentPieces) {
-			boolean[][] mat = p.possibleMoves();
-			if (mat[kingPosition.getLinha()][kingPosition.getColuna()]) {
+	private boolean isLegal(int move) {
+		ensureLegalMoves();
+		for (int i = 0; i < legalMoveCount; i++) {
+			if (legalMoves[i] == move) {
 				return true;
 			}
 		}
 		return false;
 	}
 
-	private boolean testCheckMate(Cor cor) {
-		if (!testCheck(cor)) {
-			return false;
-		}
-		List<Peca> list = piecesOnTheBoard.stream().filter(x -> ((PecaXadrez) x).getCor() == cor)
-				.collect(Collectors.toList());
-		for (Peca p : list) {
-			boolean[][] mat = p.possibleMoves();
-			for (int i = 0; i < board.getLinhas(); i++) {
-				for (int j = 0; j < board.getColunas(); j++) {
-					if (mat[i][j]) {
-						Posicao source = ((PecaXadrez) p).getChessPosition().toPosition();
-						Posicao target = new Posicao(i, j);
-						Peca capturedPiece = makeMove(source, target);
-						boolean testCheck = testCheck(cor);
-						undoMove(source, target, capturedPiece);
-						if (!testCheck) {
-							return false;
-						}
-					}
-				}
+	private void ensureLegalMoves() {
+		if (legalMoveCount < 0) {
+			if (Metrics.isEnabled()) {
+				ChessMetrics.get().legalMoves.increment();
 			}
+			legalMoveCount = generateLegalMoves();
+		}
+	}
+
+	private int generateLegalMoves() {
+		int[] buffer = MOVE_BUFFER.get();
+		int count = position.generateLegalMoves(buffer);
+		if (count > legalMoves.length) {
+			legalMoves = new int[Math.max(count, legalMoves.length * 2)];
 		}
-		return true;
-	}
-
-	private void placeNewPiece(char coluna, int linha, PecaXadrez peca) {
-		board.placePiece(peca, new ChessPosition(coluna, linha).toPosition());
-		piecesOnTheBoard.add(peca);
-	}
-
-	private void initialSetup() {
-		placeNewPiece('a', 1, new Rook(board, Cor.BRANCO));
-		placeNewPiece('b', 1, new Knight(board, Cor.BRANCO));
-		placeNewPiece('c', 1, new Bishop(board, Cor.BRANCO));
-		placeNewPiece('d', 1, new Queen(board, Cor.BRANCO));
-		placeNewPiece('e', 1, new King(board, Cor.BRANCO, this));
-		placeNewPiece('f', 1, new Bishop(board, Cor.BRANCO));
-		placeNewPiece('g', 1, new Knight(board, Cor.BRANCO));
-		placeNewPiece('h', 1, new Rook(board, Cor.BRANCO));
-		placeNewPiece('a', 2, new Pawn(board, Cor.BRANCO, this));
-		placeNewPiece('b', 2, new Pawn(board, Cor.BRANCO, this));
-		placeNewPiece('c', 2, new Pawn(board, Cor.BRANCO, this));
-		placeNewPiece('d', 2, new Pawn(board, Cor.BRANCO, this));
-		placeNewPiece('e', 2, new Pawn(board, Cor.BRANCO, this));
-		placeNewPiece('f', 2, new Pawn(board, Cor.BRANCO, this));
-		placeNewPiece('g', 2, new Pawn(board, Cor.BRANCO, this));
-		placeNewPiece('h', 2, new Pawn(board, Cor.BRANCO, this));
-
-		placeNewPiece('a', 8, new Rook(board, Cor.PRETO));
-		placeNewPiece('b', 8, new Knight(board, Cor.PRETO));
-		placeNewPiece('c', 8, new Bishop(board, Cor.PRETO));
-		placeNewPiece('d', 8, new Queen(board, Cor.PRETO));
-		placeNewPiece('e', 8, new King(board, Cor.PRETO, this));
-		placeNewPiece('f', 8, new Bishop(board, Cor.PRETO));
-		placeNewPiece('g', 8, new Knight(board, Cor.PRETO));
-		placeNewPiece('h', 8, new Rook(board, Cor.PRETO));
-		placeNewPiece('a', 7, new Pawn(board, Cor.PRETO, this));
-		placeNewPiece('b', 7, new Pawn(board, Cor.PRETO, this));
-		placeNewPiece('c', 7, new Pawn(board, Cor.PRETO, this));
-		placeNewPiece('d', 7, new Pawn(board, Cor.PRETO, this));
-		placeNewPiece('e', 7, new Pawn(board, Cor.PRETO, this));
-		placeNewPiece('f', 7, new Pawn(board, Cor.PRETO, this));
-		placeNewPiece('g', 7, new Pawn(board, Cor.PRETO, this));
-		placeNewPiece('h', 7, new Pawn(board, Cor.PRETO, this));
+		System.arraycopy(buffer, 0, legalMoves, 0, count);
+		return count;
 	}
 }
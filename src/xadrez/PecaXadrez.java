@@ -1,40 +1,68 @@
 package xadrez;
 
+import metrics.Metrics;
 import tabuleiro.Peca;
-import tabuleiro.Posicao;
-import tabuleiro.Tabuleiro;
 
+// Vista de uma peça tirada da posição da partida (getPecas, peça capturada, promoção).
+// O estado fica no Mailbox e o comportamento em TipoPeca; a vista vale para a posição
+// em que foi criada
 public abstract class PecaXadrez extends Peca{
 	
 	private Cor cor;
 	private int moveCount;
+	// Mailbox da partida; null para peças capturadas, que não estão no tabuleiro
+	private Mailbox position;
 	
-	public PecaXadrez(Tabuleiro board, Cor cor) {
-		super(board);
+	public PecaXadrez(Cor cor) {
+		super(null);
 		this.cor = cor;
 	}
 
+	void bind(Mailbox position, int square, int moveCount) {
+		this.position = position;
+		this.posicao = ChessPosition.squarePosition(square);
+		this.moveCount = moveCount;
+	}
+
 	public Cor getCor() {
 		return cor;
 	}
+	
+	public abstract TipoPeca getTipo();
+	
 	public int getMoveCount() {
 		return moveCount;
 	}
 	
-	public void increaseMoveCount() {
-		moveCount++;
+	@Override
+	public boolean[][] possibleMoves() {
+		if (Metrics.isEnabled()) {
+			ChessMetrics.get().possibleMoves[getTipo().ordinal()].increment();
+		}
+		return Bitboards.toMatrix(moveTargets());
 	}
 	
-	public void decreaseMoveCount() {
-		moveCount--;
+	@Override
+	public boolean isThereAnyPossibleMove() {
+		return moveTargets() != 0L;
+	}
+	
+	public int possibleMoves(int[] moves, int count) {
+		if (Metrics.isEnabled()) {
+			ChessMetrics.get().possibleMoves[getTipo().ordinal()].increment();
+		}
+		return position == null ? count : position.pieceMoves(getSquare(), moves, count);
 	}
 	
 	public ChessPosition getChessPosition() {
-		return ChessPosition.fromPosition(posicao);
+		return posicao == null ? null : ChessPosition.fromSquare(getSquare());
+	}
+	
+	public int getSquare() {
+		return Bitboards.square(posicao);
 	}
 	
-	protected boolean isThereOpponentPiece(Posicao posicao) {
-		PecaXadrez p = (PecaXadrez)getBoard().peca(posicao);
-		return p != null && p.getCor() != cor;
+	private long moveTargets() {
+		return position == null ? 0L : position.pieceTargets(getSquare());
 	}
 }
@@ -0,0 +1,145 @@
+package xadrez;
+
+import java.util.Arrays;
+
+// Retrato imutável de uma partida: só arrays primitivos copiados e escalares, sem referências
+// ao Tabuleiro ou às peças, então pode ser entregue a outras threads sem sincronização
+public final class Position {
+
+	private final byte[] squares;
+	private final long[] bitboards;
+	private final int whiteKing;
+	private final int blackKing;
+	private final Cor sideToMove;
+	private final int castlingRights;
+	private final int epSquare;
+	private final int halfmoveClock;
+	private final long key;
+	private final long pawnKey;
+	private final int mgScore;
+	private final int egScore;
+	private final int phase;
+
+	private final int turn;
+	private final boolean check;
+	private final boolean checkMate;
+	private final boolean stalemate;
+
+	Position(byte[] squares, long[] bitboards, int whiteKing, int blackKing, Cor sideToMove, int castlingRights,
+			int epSquare, int halfmoveClock, long key, long pawnKey, int mgScore, int egScore, int phase, int turn,
+			boolean check, boolean checkMate, boolean stalemate) {
+		this.squares = squares;
+		this.bitboards = bitboards;
+		this.whiteKing = whiteKing;
+		this.blackKing = blackKing;
+		this.sideToMove = sideToMove;
+		this.castlingRights = castlingRights;
+		this.epSquare = epSquare;
+		this.halfmoveClock = halfmoveClock;
+		this.key = key;
+		this.pawnKey = pawnKey;
+		this.mgScore = mgScore;
+		this.egScore = egScore;
+		this.phase = phase;
+		this.turn = turn;
+		this.check = check;
+		this.checkMate = checkMate;
+		this.stalemate = stalemate;
+	}
+
+	// Cópia mutável para busca ou análise; cada chamada devolve um Mailbox independente
+	public Mailbox toMailbox() {
+		return new Mailbox(this);
+	}
+
+	public byte pieceAt(int square) {
+		return squares[square];
+	}
+
+	public long getBitboard(Cor cor, TipoPeca tipo) {
+		return bitboards[TabuleiroBitboard.index(cor, tipo)];
+	}
+
+	public int kingSquare(Cor cor) {
+		return cor == Cor.BRANCO ? whiteKing : blackKing;
+	}
+
+	public Cor getSideToMove() {
+		return sideToMove;
+	}
+
+	public int getCastlingRights() {
+		return castlingRights;
+	}
+
+	public int getEnPassantSquare() {
+		return epSquare;
+	}
+
+	public int getHalfmoveClock() {
+		return halfmoveClock;
+	}
+
+	public long getKey() {
+		return key;
+	}
+
+	public long getPawnKey() {
+		return pawnKey;
+	}
+
+	public int getTurn() {
+		return turn;
+	}
+
+	public boolean getCheck() {
+		return check;
+	}
+
+	public boolean getCheckMate() {
+		return checkMate;
+	}
+
+	public boolean getStalemate() {
+		return stalemate;
+	}
+
+	// Acesso do Mailbox aos arrays, sem copiá-los
+	byte[] squares() {
+		return squares;
+	}
+
+	long[] bitboards() {
+		return bitboards;
+	}
+
+	int mgScore() {
+		return mgScore;
+	}
+
+	int egScore() {
+		return egScore;
+	}
+
+	int phase() {
+		return phase;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Position)) {
+			return false;
+		}
+		Position other = (Position) obj;
+		return key == other.key && sideToMove == other.sideToMove && castlingRights == other.castlingRights
+				&& epSquare == other.epSquare && Arrays.equals(squares, other.squares);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(key);
+	}
+}
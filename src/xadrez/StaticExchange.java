@@ -0,0 +1,167 @@
+package xadrez;
+
+// Troca estática: resultado material da sequência de capturas em uma casa,
+// sempre com o atacante de menor valor, sem executar movimentos
+public final class StaticExchange {
+
+	// Na troca o rei vale mais que tudo, para só capturar por último
+	private static final int KING_VALUE = 20000;
+	// Tamanho da lista de trocas: no máximo 32 peças disputam uma casa
+	static final int SWAP_LIST = 32;
+	private static final TipoPeca[] TIPOS = TipoPeca.values();
+
+	private static final int PAWN = TipoPeca.PAWN.ordinal();
+	private static final int KNIGHT = TipoPeca.KNIGHT.ordinal();
+	private static final int BISHOP = TipoPeca.BISHOP.ordinal();
+	private static final int ROOK = TipoPeca.ROOK.ordinal();
+	private static final int QUEEN = TipoPeca.QUEEN.ordinal();
+	private static final int KING = TipoPeca.KING.ordinal();
+
+	private StaticExchange() {
+	}
+
+	// Ganho esperado do lado que move, em centipeões; vale também para movimentos sem captura
+	public static int see(Mailbox position, int move) {
+		long[] bitboards = position.getBitboards();
+		int from = ChessMove.from(move);
+		int to = ChessMove.to(move);
+		byte piece = position.pieceAt(from);
+		Cor side = Mailbox.cor(piece);
+
+		int[] gain = position.swapList();
+		long occupancy = position.getOccupancy() ^ (1L << from);
+		if (ChessMove.isEnPassant(move)) {
+			int forward = (side == Cor.BRANCO) ? -8 : 8;
+			occupancy ^= 1L << (to - forward);
+			gain[0] = value(PAWN);
+		} else {
+			byte captured = position.pieceAt(to);
+			gain[0] = captured == Mailbox.EMPTY ? 0 : value(Mailbox.tipo(captured).ordinal());
+		}
+		int onSquare = value(Mailbox.tipo(piece).ordinal());
+		if (ChessMove.isPromotion(move)) {
+			int promotion = value(ChessMove.promotion(move).ordinal());
+			gain[0] += promotion - value(PAWN);
+			onSquare = promotion;
+		}
+
+		long attackers = attackers(bitboards, to, occupancy) & occupancy;
+		int d = 0;
+		side = opponent(side);
+		while (true) {
+			int side6 = side.ordinal() * 6;
+			long own = attackers & occupancy & sidePieces(bitboards, side6);
+			if (own == 0L) {
+				break;
+			}
+			int tipo = PAWN;
+			long bit = 0L;
+			for (; tipo <= KING; tipo++) {
+				long candidates = own & bitboards[side6 + tipo];
+				if (candidates != 0L) {
+					bit = candidates & -candidates;
+					break;
+				}
+			}
+			// O rei não pode capturar uma casa ainda defendida
+			if (tipo == KING && (attackers & occupancy & ~bit
+					& sidePieces(bitboards, opponent(side).ordinal() * 6)) != 0L) {
+				break;
+			}
+			d++;
+			gain[d] = onSquare - gain[d - 1];
+			if (Math.max(-gain[d - 1], gain[d]) < 0) {
+				break;
+			}
+			onSquare = value(tipo);
+			occupancy ^= bit;
+			// Raios x: peças deslizantes atrás da que saiu passam a atacar
+			attackers |= (Magics.bishopAttacks(to, occupancy)
+					& (bitboards[BISHOP] | bitboards[QUEEN] | bitboards[6 + BISHOP] | bitboards[6 + QUEEN]))
+					| (Magics.rookAttacks(to, occupancy)
+							& (bitboards[ROOK] | bitboards[QUEEN] | bitboards[6 + ROOK] | bitboards[6 + QUEEN]));
+			attackers &= occupancy;
+			side = opponent(side);
+		}
+		while (d > 0) {
+			gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+			d--;
+		}
+		return gain[0];
+	}
+
+	// Peças da cor atacadas pelo adversário que se perdem na troca, e casas
+	// atacadas pelo adversário que a cor não defende
+	public static Threats threats(Mailbox position, Cor cor) {
+		long[] bitboards = position.getBitboards();
+		long own = sidePieces(bitboards, cor.ordinal() * 6);
+		long theirs = sidePieces(bitboards, opponent(cor).ordinal() * 6);
+		long ownAttacks = attackMap(position, own);
+		long theirAttacks = attackMap(position, theirs);
+
+		long occupancy = position.getOccupancy();
+		long hanging = 0L;
+		for (long targets = own & theirAttacks & ~bitboards[cor.ordinal() * 6 + KING]; targets != 0L;
+				targets &= targets - 1) {
+			int sq = Long.numberOfTrailingZeros(targets);
+			long attackers = attackers(bitboards, sq, occupancy) & theirs;
+			int lva = cheapest(position, attackers);
+			if (see(position, ChessMove.encode(lva, sq, ChessMove.CAPTURE)) > 0) {
+				hanging |= 1L << sq;
+			}
+		}
+		return new Threats(hanging, theirAttacks & ~ownAttacks);
+	}
+
+	private static long attackMap(Mailbox position, long pieces) {
+		long attacks = 0L;
+		for (; pieces != 0L; pieces &= pieces - 1) {
+			attacks |= position.attacksFrom(Long.numberOfTrailingZeros(pieces));
+		}
+		return attacks;
+	}
+
+	private static int cheapest(Mailbox position, long attackers) {
+		int best = -1;
+		int bestValue = Integer.MAX_VALUE;
+		for (; attackers != 0L; attackers &= attackers - 1) {
+			int sq = Long.numberOfTrailingZeros(attackers);
+			int value = value(Mailbox.tipo(position.pieceAt(sq)).ordinal());
+			if (value < bestValue) {
+				bestValue = value;
+				best = sq;
+			}
+		}
+		return best;
+	}
+
+	// Atacantes das duas cores, com a ocupação informada
+	private static long attackers(long[] bitboards, int sq, long occupancy) {
+		int white6 = Cor.BRANCO.ordinal() * 6;
+		int black6 = Cor.PRETO.ordinal() * 6;
+		return (Bitboards.pawnAttacks(Cor.PRETO, sq) & bitboards[white6 + PAWN])
+				| (Bitboards.pawnAttacks(Cor.BRANCO, sq) & bitboards[black6 + PAWN])
+				| (Bitboards.knightAttacks(sq) & (bitboards[white6 + KNIGHT] | bitboards[black6 + KNIGHT]))
+				| (Bitboards.kingAttacks(sq) & (bitboards[white6 + KING] | bitboards[black6 + KING]))
+				| (Magics.bishopAttacks(sq, occupancy) & (bitboards[white6 + BISHOP] | bitboards[white6 + QUEEN]
+						| bitboards[black6 + BISHOP] | bitboards[black6 + QUEEN]))
+				| (Magics.rookAttacks(sq, occupancy) & (bitboards[white6 + ROOK] | bitboards[white6 + QUEEN]
+						| bitboards[black6 + ROOK] | bitboards[black6 + QUEEN]));
+	}
+
+	private static long sidePieces(long[] bitboards, int side6) {
+		long pieces = 0L;
+		for (int tipo = 0; tipo < 6; tipo++) {
+			pieces |= bitboards[side6 + tipo];
+		}
+		return pieces;
+	}
+
+	private static int value(int tipo) {
+		return tipo == KING ? KING_VALUE : TIPOS[tipo].getValue();
+	}
+
+	private static Cor opponent(Cor cor) {
+		return (cor == Cor.BRANCO) ? Cor.PRETO : Cor.BRANCO;
+	}
+}
@@ -0,0 +1,57 @@
+package xadrez;
+
+import tabuleiro.Peca;
+import tabuleiro.Posicao;
+import tabuleiro.Tabuleiro;
+
+public class TabuleiroBitboard extends Tabuleiro {
+
+	// Um long por tipo e cor de peça, bit (linha * 8 + coluna)
+	private long[] bitboards = new long[12];
+	private long[] ocupacao = new long[2];
+
+	public TabuleiroBitboard() {
+		super(8, 8);
+	}
+
+	public long getBitboard(Cor cor, TipoPeca tipo) {
+		return bitboards[index(cor, tipo)];
+	}
+
+	long[] getBitboards() {
+		return bitboards;
+	}
+
+	public long getOcupacao(Cor cor) {
+		return ocupacao[cor.ordinal()];
+	}
+
+	public long getOcupacao() {
+		return ocupacao[0] | ocupacao[1];
+	}
+
+	@Override
+	public void placePiece(Peca peca, Posicao posicao) {
+		super.placePiece(peca, posicao);
+		toggle((PecaXadrez) peca, posicao);
+	}
+
+	@Override
+	public Peca removePiece(Posicao posicao) {
+		Peca peca = super.removePiece(posicao);
+		if (peca != null) {
+			toggle((PecaXadrez) peca, posicao);
+		}
+		return peca;
+	}
+
+	private void toggle(PecaXadrez peca, Posicao posicao) {
+		long bit = 1L << (posicao.getLinha() * 8 + posicao.getColuna());
+		bitboards[index(peca.getCor(), peca.getTipo())] ^= bit;
+		ocupacao[peca.getCor().ordinal()] ^= bit;
+	}
+
+	public static int index(Cor cor, TipoPeca tipo) {
+		return cor.ordinal() * 6 + tipo.ordinal();
+	}
+}
@@ -0,0 +1,39 @@
+package xadrez;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Threats {
+
+	private final long hanging;
+	private final long undefended;
+
+	public Threats(long hanging, long undefended) {
+		this.hanging = hanging;
+		this.undefended = undefended;
+	}
+
+	public long getHanging() {
+		return hanging;
+	}
+
+	public long getUndefended() {
+		return undefended;
+	}
+
+	public List<ChessPosition> getHangingPieces() {
+		return positions(hanging);
+	}
+
+	public List<ChessPosition> getUndefendedSquares() {
+		return positions(undefended);
+	}
+
+	private static List<ChessPosition> positions(long bitboard) {
+		List<ChessPosition> list = new ArrayList<>();
+		for (; bitboard != 0L; bitboard &= bitboard - 1) {
+			list.add(ChessPosition.fromSquare(Long.numberOfTrailingZeros(bitboard)));
+		}
+		return list;
+	}
+}
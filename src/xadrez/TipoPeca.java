@@ -0,0 +1,60 @@
+package xadrez;
+
+public enum TipoPeca {
+	PAWN("P", 100) {
+		@Override
+		public long attacks(int square, long occupancy, Cor cor) {
+			return Bitboards.pawnAttacks(cor, square);
+		}
+	},
+	KNIGHT("N", 320) {
+		@Override
+		public long attacks(int square, long occupancy, Cor cor) {
+			return Bitboards.knightAttacks(square);
+		}
+	},
+	BISHOP("B", 330) {
+		@Override
+		public long attacks(int square, long occupancy, Cor cor) {
+			return Magics.bishopAttacks(square, occupancy);
+		}
+	},
+	ROOK("R", 500) {
+		@Override
+		public long attacks(int square, long occupancy, Cor cor) {
+			return Magics.rookAttacks(square, occupancy);
+		}
+	},
+	QUEEN("Q", 900) {
+		@Override
+		public long attacks(int square, long occupancy, Cor cor) {
+			return Magics.queenAttacks(square, occupancy);
+		}
+	},
+	KING("K", 0) {
+		@Override
+		public long attacks(int square, long occupancy, Cor cor) {
+			return Bitboards.kingAttacks(square);
+		}
+	};
+
+	private final String symbol;
+	// Valor material em centipeões; o rei não tem valor material
+	private final int value;
+
+	private TipoPeca(String symbol, int value) {
+		this.symbol = symbol;
+		this.value = value;
+	}
+
+	public String getSymbol() {
+		return symbol;
+	}
+
+	public int getValue() {
+		return value;
+	}
+
+	// Comportamento sem estado, compartilhado por todas as partidas
+	public abstract long attacks(int square, long occupancy, Cor cor);
+}
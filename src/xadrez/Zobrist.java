@@ -0,0 +1,54 @@
+package xadrez;
+
+public final class Zobrist {
+
+	// Indexado pelo código da peça do Mailbox menos 1 e pela casa
+	private static final long[][] PIECES = new long[12][64];
+	private static final long[] CASTLING = new long[16];
+	private static final long[] EN_PASSANT_FILE = new long[8];
+	private static final long BLACK_TO_MOVE;
+
+	// Semente fixa: a mesma posição tem a mesma chave em qualquer execução
+	private static long seed = 0x2545F4914F6CDD1DL;
+
+	static {
+		for (int i = 0; i < 12; i++) {
+			for (int sq = 0; sq < 64; sq++) {
+				PIECES[i][sq] = random();
+			}
+		}
+		for (int i = 0; i < 16; i++) {
+			CASTLING[i] = random();
+		}
+		for (int i = 0; i < 8; i++) {
+			EN_PASSANT_FILE[i] = random();
+		}
+		BLACK_TO_MOVE = random();
+	}
+
+	private Zobrist() {
+	}
+
+	public static long piece(byte code, int square) {
+		return PIECES[code - 1][square];
+	}
+
+	public static long castling(int rights) {
+		return CASTLING[rights];
+	}
+
+	public static long enPassant(int square) {
+		return EN_PASSANT_FILE[Bitboards.coluna(square)];
+	}
+
+	public static long blackToMove() {
+		return BLACK_TO_MOVE;
+	}
+
+	private static long random() {
+		seed ^= seed >>> 12;
+		seed ^= seed << 25;
+		seed ^= seed >>> 27;
+		return seed * 0x2545F4914F6CDD1DL;
+	}
+}
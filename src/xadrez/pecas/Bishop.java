@@ -1,72 +1,22 @@
 package xadrez.pecas;
 
-import tabuleiro.Posicao;
-import tabuleiro.Tabuleiro;
 import xadrez.Cor;
 import xadrez.PecaXadrez;
+import xadrez.TipoPeca;
 
-public class Bishop extends PecaXadrez{
-	
-	
-	public Bishop(Tabuleiro board, Cor cor) {
-		super(board, cor);
+public class Bishop extends PecaXadrez {
+
+	public Bishop(Cor cor) {
+		super(cor);
 	}
 
 	@Override
-	public String toString() {
-		return "B";
+	public TipoPeca getTipo() {
+		return TipoPeca.BISHOP;
 	}
 
 	@Override
-	public boolean[][] possibleMoves() {
-		boolean[][] mat = new boolean[getBoard().getLinhas()][getBoard().getColunas()];
-
-		Posicao p = new Posicao(0, 0);
-
-		// nw
-		p.setValues(posicao.getLinha() - 1, posicao.getColuna() - 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() - 1, p.getColuna() - 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// NE
-		p.setValues(posicao.getLinha() - 1, posicao.getColuna() + 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() - 1, p.getColuna() + 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// SE
-		p.setValues(posicao.getLinha() + 1, posicao.getColuna() + 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() + 1, p.getColuna() + 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// SW
-		p.setValues(posicao.getLinha() + 1, posicao.getColuna() - 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() + 1, p.getColuna() - 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		return mat;
+	public String toString() {
+		return "B";
 	}
 }
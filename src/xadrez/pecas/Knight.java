@@ -1,75 +1,22 @@
 package xadrez.pecas;
 
-import tabuleiro.Posicao;
-import tabuleiro.Tabuleiro;
 import xadrez.Cor;
 import xadrez.PecaXadrez;
+import xadrez.TipoPeca;
 
 public class Knight extends PecaXadrez {
 
-	public Knight(Tabuleiro board, Cor cor) {
-		super(board, cor);
+	public Knight(Cor cor) {
+		super(cor);
 	}
 
-	public String toString() {
-		return "N";
-	}
-
-	private boolean canMove(Posicao posicao) {
-		PecaXadrez p = (PecaXadrez) getBoard().peca(posicao);
-		return p == null || p.getCor() != getCor();
+	@Override
+	public TipoPeca getTipo() {
+		return TipoPeca.KNIGHT;
 	}
 
-	
 	@Override
-	public boolean[][] possibleMoves() {
-		boolean[][] mat = new boolean[getBoard().getLinhas()][getBoard().getColunas()];
-
-		Posicao p = new Posicao(0, 0);
-
-		p.setValues(posicao.getLinha() - 1, posicao.getColuna() - 2);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		p.setValues(posicao.getLinha() - 2, posicao.getColuna() - 1);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		p.setValues(posicao.getLinha() - 2, posicao.getColuna() + 1);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		p.setValues(posicao.getLinha() - 1, posicao.getColuna() + 2);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		p.setValues(posicao.getLinha() + 1, posicao.getColuna() + 2);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		p.setValues(posicao.getLinha() + 2, posicao.getColuna() + 1);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		p.setValues(posicao.getLinha() + 2, posicao.getColuna() - 1);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		p.setValues(posicao.getLinha() + 1, posicao.getColuna() - 2);
-		if (getBoard().positionExists(p) && canMove(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		return mat;
+	public String toString() {
+		return "N";
 	}
-	
-	
-	
 }
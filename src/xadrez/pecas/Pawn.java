@@ -1,101 +1,22 @@
 package xadrez.pecas;
 
-import tabuleiro.Posicao;
-import tabuleiro.Tabuleiro;
 import xadrez.Cor;
-import xadrez.PartidaXadrez;
 import xadrez.PecaXadrez;
+import xadrez.TipoPeca;
 
 public class Pawn extends PecaXadrez {
 
-	private PartidaXadrez chessMatch;
-
-	public Pawn(Tabuleiro board, Cor cor, PartidaXadrez chessMatch) {
-		super(board, cor);
-		this.chessMatch = chessMatch;
+	public Pawn(Cor cor) {
+		super(cor);
 	}
 
 	@Override
-	public boolean[][] possibleMoves() {
-		boolean[][] mat = new boolean[getBoard().getLinhas()][getBoard().getColunas()];
-
-		Posicao p = new Posicao(0, 0);
-
-		if (getCor() == Cor.BRANCO) {
-			p.setValues(posicao.getLinha() - 1, posicao.getColuna());
-			if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-			p.setValues(posicao.getLinha() - 2, posicao.getColuna());
-			Posicao p2 = new Posicao(posicao.getLinha() - 1, posicao.getColuna());
-			if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p) && getBoard().positionExists(p2)
-					&& !getBoard().thereIsAPiece(p2) && getMoveCount() == 0) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-			p.setValues(posicao.getLinha() - 1, posicao.getColuna() - 1);
-			if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-			p.setValues(posicao.getLinha() - 1, posicao.getColuna() + 1);
-			if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-
-			// Movimento especial en passant white
-			if (posicao.getLinha() == 3) {
-				Posicao left = new Posicao(posicao.getLinha(), posicao.getColuna() - 1);
-				if (getBoard().positionExists(left) && isThereOpponentPiece(left)
-						&& getBoard().peca(left) == chessMatch.getEnPassantVulnerable()) {
-					mat[left.getLinha() - 1][left.getColuna()] = true;
-				}
-				Posicao right = new Posicao(posicao.getLinha(), posicao.getColuna() + 1);
-				if (getBoard().positionExists(right) && isThereOpponentPiece(right)
-						&& getBoard().peca(right) == chessMatch.getEnPassantVulnerable()) {
-					mat[left.getLinha() - 1][left.getColuna()] = true;
-				}
-			}
-
-		} else {
-			p.setValues(posicao.getLinha() + 1, posicao.getColuna());
-			if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-			p.setValues(posicao.getLinha() + 2, posicao.getColuna());
-			Posicao p2 = new Posicao(posicao.getLinha() + 1, posicao.getColuna());
-			if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p) && getBoard().positionExists(p2)
-					&& !getBoard().thereIsAPiece(p2) && getMoveCount() == 0) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-			p.setValues(posicao.getLinha() + 1, posicao.getColuna() - 1);
-			if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-			p.setValues(posicao.getLinha() + 1, posicao.getColuna() + 1);
-			if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-				mat[p.getLinha()][p.getColuna()] = true;
-			}
-
-			// Movimento especial en passant black
-			if (posicao.getLinha() == 4) {
-				Posicao left = new Posicao(posicao.getLinha(), posicao.getColuna() - 1);
-				if (getBoard().positionExists(left) && isThereOpponentPiece(left)
-						&& getBoard().peca(left) == chessMatch.getEnPassantVulnerable()) {
-					mat[left.getLinha() + 1][left.getColuna()] = true;
-				}
-				Posicao right = new Posicao(posicao.getLinha(), posicao.getColuna() + 1);
-				if (getBoard().positionExists(right) && isThereOpponentPiece(right)
-						&& getBoard().peca(right) == chessMatch.getEnPassantVulnerable()) {
-					mat[left.getLinha() + 1][left.getColuna()] = true;
-				}
-			}
-		}
-
-		return mat;
+	public TipoPeca getTipo() {
+		return TipoPeca.PAWN;
 	}
 
 	@Override
 	public String toString() {
 		return "P";
 	}
-
 }
@@ -1,116 +1,22 @@
 package xadrez.pecas;
 
-import tabuleiro.Posicao;
-import tabuleiro.Tabuleiro;
 import xadrez.Cor;
 import xadrez.PecaXadrez;
+import xadrez.TipoPeca;
 
 public class Queen extends PecaXadrez {
 
-	public Queen(Tabuleiro board, Cor cor) {
-		super(board, cor);
-		// TODO Auto-generated constructor stub
+	public Queen(Cor cor) {
+		super(cor);
 	}
 
 	@Override
-	public String toString() {
-		return "Q";
+	public TipoPeca getTipo() {
+		return TipoPeca.QUEEN;
 	}
 
 	@Override
-	public boolean[][] possibleMoves() {
-		boolean[][] mat = new boolean[getBoard().getLinhas()][getBoard().getColunas()];
-
-		Posicao p = new Posicao(0, 0);
-
-		// Acima
-		p.setValues(posicao.getLinha() - 1, posicao.getColuna());
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setLinha(p.getColuna() - 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// Esquerda
-		p.setValues(posicao.getLinha(), posicao.getColuna() - 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setColuna(p.getColuna() - 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// Direita
-		p.setValues(posicao.getLinha(), posicao.getColuna() + 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setColuna(p.getColuna() + 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// Abaixo
-		p.setValues(posicao.getLinha() + 1, posicao.getColuna());
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setColuna(p.getColuna() + 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// nw
-		p.setValues(posicao.getLinha() - 1, posicao.getColuna() - 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() - 1, p.getColuna() - 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// NE
-		p.setValues(posicao.getLinha() - 1, posicao.getColuna() + 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() - 1, p.getColuna() + 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// SE
-		p.setValues(posicao.getLinha() + 1, posicao.getColuna() + 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() + 1, p.getColuna() + 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		// SW
-		p.setValues(posicao.getLinha() + 1, posicao.getColuna() - 1);
-
-		while (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-			p.setValues(p.getLinha() + 1, p.getColuna() - 1);
-		}
-		if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-			mat[p.getLinha()][p.getColuna()] = true;
-		}
-
-		return mat;
+	public String toString() {
+		return "Q";
 	}
 }